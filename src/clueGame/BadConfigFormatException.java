@@ -1,14 +1,38 @@
 package clueGame;
 
+import java.util.Collections;
+import java.util.List;
+
 // Exception for invalid configuration file format
 public class BadConfigFormatException extends Exception {
+	private final List<BadConfigFormatException> errors;
 	
 	public BadConfigFormatException() {
 		super("Bad configuration file format detected");
+		errors = Collections.singletonList(this);
 	}
 	
 	public BadConfigFormatException(String message) {
 		super(message);
+		errors = Collections.singletonList(this);
+	}
+	
+	// Several errors found in one file, listed in the order they occur
+	public BadConfigFormatException(List<BadConfigFormatException> errors) {
+		super(describe(errors));
+		this.errors = Collections.unmodifiableList(errors);
+	}
+	
+	private static String describe(List<BadConfigFormatException> errors) {
+		StringBuilder message = new StringBuilder(errors.size() + " configuration errors:");
+		for (BadConfigFormatException error : errors) {
+			message.append("\n  ").append(error.getMessage());
+		}
+		return message.toString();
+	}
+	
+	// Every error this exception reports; just this exception unless several were gathered
+	public List<BadConfigFormatException> getErrors() {
+		return errors;
 	}
 }
- 
@@ -0,0 +1,231 @@
+package clueGame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+// Finds movement targets using long[] bitmask frontiers over dense cell ids.
+// Frontiers follow walks, which can revisit cells, so they give a superset of the
+// targets the rules allow (simple paths only). Each candidate is then confirmed by a
+// bitset depth-first search that is pruned to cells that can still reach an unconfirmed
+// candidate and stops as soon as every candidate has been confirmed.
+public class BitsetTargetEngine {
+	private final BoardGraph graph;
+	private final long[] occupied;
+	private final long[] roomCenters;
+	private final int words;
+
+	public BitsetTargetEngine(BoardGraph graph, Occupancy occupancy) {
+		this.graph = graph;
+		this.occupied = occupancy.getBits();
+		int numCells = graph.getNumCells();
+		words = (numCells + 63) >>> 6;
+		roomCenters = new long[words];
+		for (int id = 0; id < numCells; id++) {
+			if (graph.isRoomCenter(id)) {
+				setBit(roomCenters, id);
+			}
+		}
+	}
+
+	// Calculate the same targets as the backtracking search for a path length of at least 1
+	public Set<BoardCell> findTargets(BoardCell startCell, int pathLength) {
+		Set<BoardCell> targets = new HashSet<>();
+		int start = startCell.getId();
+		if (start < 0 || start >= graph.getNumCells() || graph.getCell(start) != startCell || pathLength < 1) {
+			return targets;
+		}
+
+		Search search = new Search(start, pathLength);
+		if (search.findCandidates() == 0) {
+			return targets;
+		}
+		search.confirm();
+
+		long[] confirmed = search.confirmed;
+		for (int w = search.lo; w <= search.hi; w++) {
+			long bits = confirmed[w];
+			while (bits != 0) {
+				targets.add(graph.getCell((w << 6) + Long.numberOfTrailingZeros(bits)));
+				bits &= bits - 1;
+			}
+		}
+		return targets;
+	}
+
+	// Occupied cells block movement unless they are room centers
+	private boolean isBlocked(int id) {
+		return testBit(occupied, id) && !testBit(roomCenters, id);
+	}
+
+	// State for one query. Every cell a path can stand on lies in words lo..hi, so all
+	// bitset scans after the frontier pass are limited to that window.
+	private class Search {
+		private final int start;
+		private final int pathLength;
+		private final long[] candidates = new long[words];
+		private final long[] confirmed = new long[words];
+		private final long[] visited = new long[words];
+		// reachable[k] = cells from which an unconfirmed candidate can be reached with k steps left
+		private long[][] reachable;
+		private int lo;
+		private int hi;
+		private int unconfirmed;
+		private int unconfirmedAtLastPrune;
+
+		Search(int start, int pathLength) {
+			this.start = start;
+			this.pathLength = pathLength;
+			this.lo = start >>> 6;
+			this.hi = start >>> 6;
+		}
+
+		// Expand walk frontiers step by step; room centers end movement at any step
+		int findCandidates() {
+			long[] frontier = new long[words];
+			long[] next = new long[words];
+			setBit(frontier, start);
+			int frontierLo = lo;
+			int frontierHi = hi;
+
+			for (int step = 1; step <= pathLength; step++) {
+				boolean lastStep = step == pathLength;
+				int nextLo = words;
+				int nextHi = -1;
+				for (int w = frontierLo; w <= frontierHi; w++) {
+					long bits = frontier[w];
+					frontier[w] = 0;
+					while (bits != 0) {
+						int id = (w << 6) + Long.numberOfTrailingZeros(bits);
+						bits &= bits - 1;
+						for (int i = graph.getNeighborStart(id); i < graph.getNeighborEnd(id); i++) {
+							int adj = graph.getNeighbor(i);
+							if (adj == start || isBlocked(adj)) {
+								continue;
+							}
+							int word = adj >>> 6;
+							lo = Math.min(lo, word);
+							hi = Math.max(hi, word);
+							if (lastStep || testBit(roomCenters, adj)) {
+								setBit(candidates, adj);
+							} else {
+								setBit(next, adj);
+								nextLo = Math.min(nextLo, word);
+								nextHi = Math.max(nextHi, word);
+							}
+						}
+					}
+				}
+				if (nextHi < 0) {
+					break;
+				}
+				long[] swap = frontier;
+				frontier = next;
+				next = swap;
+				frontierLo = nextLo;
+				frontierHi = nextHi;
+			}
+
+			for (int w = lo; w <= hi; w++) {
+				unconfirmed += Long.bitCount(candidates[w]);
+			}
+			return unconfirmed;
+		}
+
+		// Depth-first search over simple paths that confirms the candidates
+		void confirm() {
+			reachable = new long[pathLength + 1][words];
+			updateReachable();
+			setBit(visited, start);
+			search(start, pathLength);
+		}
+
+		// Returns true once every candidate has been confirmed
+		private boolean search(int id, int numSteps) {
+			for (int i = graph.getNeighborStart(id); i < graph.getNeighborEnd(id); i++) {
+				int adj = graph.getNeighbor(i);
+				if (testBit(visited, adj) || isBlocked(adj)) {
+					continue;
+				}
+				if (numSteps == 1 || testBit(roomCenters, adj)) {
+					if (testBit(candidates, adj) && !testBit(confirmed, adj)) {
+						setBit(confirmed, adj);
+						if (--unconfirmed == 0) {
+							return true;
+						}
+						// Tighten the pruning sets once half the remaining candidates are confirmed
+						if (unconfirmed * 2 <= unconfirmedAtLastPrune) {
+							updateReachable();
+						}
+					}
+				} else if (testBit(reachable[numSteps - 1], adj)) {
+					setBit(visited, adj);
+					boolean done = search(adj, numSteps - 1);
+					clearBit(visited, adj);
+					if (done) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		// Backward frontier pass from the unconfirmed candidates over walks
+		private void updateReachable() {
+			unconfirmedAtLastPrune = unconfirmed;
+			long[] pending = new long[words];
+			long[] pendingCenters = new long[words];
+			for (int w = lo; w <= hi; w++) {
+				pending[w] = candidates[w] & ~confirmed[w];
+				pendingCenters[w] = pending[w] & roomCenters[w];
+			}
+
+			long[] enterCenter = new long[words];
+			addPredecessors(pendingCenters, enterCenter, false);
+
+			// With one step left, any pending candidate can be entered
+			Arrays.fill(reachable[1], lo, hi + 1, 0L);
+			addPredecessors(pending, reachable[1], false);
+			for (int k = 2; k <= pathLength; k++) {
+				System.arraycopy(enterCenter, lo, reachable[k], lo, hi - lo + 1);
+				addPredecessors(reachable[k - 1], reachable[k], true);
+			}
+		}
+
+		// OR the in-window predecessors of every cell in from into to, optionally skipping cells that cannot be walked through
+		private void addPredecessors(long[] from, long[] to, boolean walkableOnly) {
+			for (int w = lo; w <= hi; w++) {
+				long bits = from[w];
+				if (walkableOnly) {
+					bits &= ~roomCenters[w];
+				}
+				while (bits != 0) {
+					int id = (w << 6) + Long.numberOfTrailingZeros(bits);
+					bits &= bits - 1;
+					if (walkableOnly && (id == start || isBlocked(id))) {
+						continue;
+					}
+					for (int i = graph.getPredecessorStart(id); i < graph.getPredecessorEnd(id); i++) {
+						int pred = graph.getPredecessor(i);
+						int word = pred >>> 6;
+						if (word >= lo && word <= hi) {
+							to[word] |= 1L << pred;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static void setBit(long[] bits, int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+
+	private static void clearBit(long[] bits, int index) {
+		bits[index >>> 6] &= ~(1L << index);
+	}
+
+	private static boolean testBit(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+}
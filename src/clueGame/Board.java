@@ -1,16 +1,25 @@
 package clueGame;
 
 import java.awt.Graphics;
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
 
 import javax.swing.JPanel;
 
@@ -23,8 +32,8 @@ public class Board extends JPanel {
 	private static final char DOOR_DOWN = 'v';
 	private static final char DOOR_LEFT = '<';
 	private static final char DOOR_RIGHT = '>';
-	private static final char NO_SECRET_PASSAGE = ' ';
 	private static final String DATA_DIRECTORY = "data/";
+	private static final int DEFAULT_TARGET_CACHE_CAPACITY = 4096;
 	
 	private BoardCell[][] grid;
 	private int numRows;
@@ -32,15 +41,42 @@ public class Board extends JPanel {
 	private String layoutConfigFile;
 	private String setupConfigFile;
 	private Map<Character, Room> roomMap;
+	// Indexes filled while the layout loads so adjacency setup is linear in the number of cells
+	private List<BoardCell> doorways;
+	private Map<Character, List<BoardCell>> secretPassageCells;
 	private Set<BoardCell> targets;
 	private Set<BoardCell> visited;
+	private TargetMode targetMode = TargetMode.BACKTRACKING;
+	private LayoutLoadMode layoutLoadMode = LayoutLoadMode.STREAMING;
+	private boolean useCompiledBoard = true;
+	private boolean loadedFromCompiled;
+	private BoardGraph graph;
+	private BitsetTargetEngine targetEngine;
+	private StampedTargetSearch stampedSearch;
+	// Per-thread search scratch for findTargets, bound to the graph of the last initialize
+	private volatile ThreadLocal<StampedTargetSearch> querySearch;
+	private Occupancy occupancy;
+	// Keeps the occupancy bitmap in step with the positions of tracked players
+	private final PlayerMoveListener occupancyTracker = this::updateOccupancy;
+	private boolean playerOccupancy;
+	private int targetCacheCapacity = DEFAULT_TARGET_CACHE_CAPACITY;
+	private TargetCache targetCache;
+	// Cells whose occupancy the last calcTargets search tested, for the target cache
+	private BitSet touchedCells;
+	private int[] touchedIds;
+	private int touchedCount;
+	private DistanceTable distances;
+	private boolean walkwayDistances;
+	private volatile ReachProbabilities reachProbabilities;
+	private MovementPlanner movementPlanner;
 	private static Board theInstance = new Board();
 	
 	private List<Player> players;
     private List<String> personNames;
     private List<String> weaponNames;
-    private List<Card> deck;
-    private Solution theAnswer;
+	// Immutable part of the loaded board, and this board's own game on it
+	private BoardTopology topology;
+	private GameState game;
 
 	// Private constructor for singleton pattern
 	private Board() {
@@ -55,24 +91,66 @@ public class Board extends JPanel {
 	// Initialize board: load configs and calculate adjacencies
 	public void initialize() {
 		try {
-			// Reset state for fresh initialization
-			roomMap = null;
-			grid = null;
-			targets = null;
-			visited = null;
-			
-			players = new ArrayList<>();
-            personNames = new ArrayList<>();
-            weaponNames = new ArrayList<>();
-            deck = null;
-            theAnswer = null;
-			
+			load();
+		} catch (BadConfigFormatException | FileNotFoundException e) {
+			System.out.println("Error loading config files: " + e.getMessage());
+		}
+	}
+	
+	// Load a topology with a private board, so the shared instance is left alone
+	static BoardTopology loadTopology(String layoutFile, String setupFile) throws BadConfigFormatException, FileNotFoundException {
+		Board loader = new Board();
+		loader.setConfigFiles(layoutFile, setupFile);
+		loader.load();
+		return loader.topology;
+	}
+	
+	// Load configs, calculate adjacencies and build the topology and this board's game
+	private void load() throws BadConfigFormatException, FileNotFoundException {
+		// Reset state for fresh initialization
+		roomMap = null;
+		grid = null;
+		targets = null;
+		visited = null;
+		graph = null;
+		targetEngine = null;
+		stampedSearch = null;
+		querySearch = null;
+		occupancy = null;
+		targetCache = null;
+		distances = null;
+		reachProbabilities = null;
+		movementPlanner = null;
+		loadedFromCompiled = false;
+		
+		detachPlayers();
+		players = new ArrayList<>();
+		personNames = new ArrayList<>();
+		weaponNames = new ArrayList<>();
+		topology = null;
+		game = null;
+		
+		if (!loadCompiledBoard()) {
 			loadSetupConfig();
 			loadLayoutConfig();
 			calcAdjacencies();
-		} catch (BadConfigFormatException | FileNotFoundException e) {
-			System.out.println("Error loading config files: " + e.getMessage());
 		}
+		if (playerOccupancy) {
+			for (Player player : players) {
+				trackPlayer(player);
+			}
+		}
+		targetEngine = new BitsetTargetEngine(graph, occupancy);
+		stampedSearch = new StampedTargetSearch(graph, occupancy);
+		BoardGraph queryGraph = graph;
+		Occupancy queryOccupancy = occupancy;
+		querySearch = ThreadLocal.withInitial(() -> new StampedTargetSearch(queryGraph, queryOccupancy));
+		targetCache = targetCacheCapacity > 0 ? new TargetCache(targetCacheCapacity) : null;
+		occupancy.setListener(targetCache);
+		distances = new DistanceTable(graph, walkwayDistances);
+		topology = new BoardTopology(grid, numColumns, roomMap, doorways, graph, players, weaponNames, distances);
+		movementPlanner = topology.getMovementPlanner();
+		game = new GameState(topology, players, occupancy);
 	}
 
 	// Set config file paths by prepending data directory
@@ -85,6 +163,7 @@ public class Board extends JPanel {
 	public void loadSetupConfig() throws BadConfigFormatException, FileNotFoundException {
 		roomMap = new HashMap<>();
 		
+		detachPlayers();
 		players = new ArrayList<>();
 		personNames = new ArrayList<>();
 		weaponNames = new ArrayList<>();
@@ -155,153 +234,381 @@ public class Board extends JPanel {
 
 	// Load layout config to initialize grid with doors, centers, labels, and passages
 	public void loadLayoutConfig() throws BadConfigFormatException, FileNotFoundException {
-		FileReader reader = new FileReader(layoutConfigFile);
-		Scanner scanner = new Scanner(reader);
-		
-		// First pass: read all lines to determine size
-		ArrayList<String> lines = new ArrayList<>();
-		while (scanner.hasNextLine()) {
-			lines.add(scanner.nextLine());
+		BoardCell[][] rows;
+		BadConfigFormatException[] rowErrors;
+		boolean parallel = layoutLoadMode == LayoutLoadMode.PARALLEL || layoutLoadMode == LayoutLoadMode.MAPPED_PARALLEL;
+		if (layoutLoadMode == LayoutLoadMode.STREAMING) {
+			rows = readLayoutStreaming();
+			rowErrors = new BadConfigFormatException[rows.length];
+		} else {
+			IntFunction<CharSequence> lines;
+			int numLines;
+			if (layoutLoadMode == LayoutLoadMode.PARALLEL) {
+				List<String> lineList = readLayoutLines();
+				lines = lineList::get;
+				numLines = lineList.size();
+			} else {
+				MappedLayout layout = new MappedLayout(layoutConfigFile);
+				lines = layout::getLine;
+				numLines = layout.getNumLines();
+			}
+			rows = new BoardCell[numLines][];
+			rowErrors = new BadConfigFormatException[numLines];
+			parseRows(lines, rows, rowErrors, parallel);
 		}
-		scanner.close();
-		
-		if (lines.isEmpty()) {
+		if (rows.length == 0) {
 			throw new BadConfigFormatException("Layout file is empty");
 		}
 		
-		// Determine board dimensions
-		numRows = lines.size();
-		String[] firstRow = lines.get(0).split(",");
-		numColumns = firstRow.length;
-		
-		// Validate all rows have same number of columns
-		for (String line : lines) {
-			String[] cells = line.split(",");
-			if (cells.length != numColumns) {
-				throw new BadConfigFormatException("All rows must have the same number of columns");
+		// Check rooms and index special cells in row-major order, so every mode wires the same board.
+		// Sequential modes raise the first error; parallel modes gather every error, in row order.
+		doorways = new ArrayList<>();
+		secretPassageCells = new HashMap<>();
+		List<BadConfigFormatException> errors = new ArrayList<>();
+		for (int row = 0; row < rows.length; row++) {
+			if (rowErrors[row] != null) {
+				if (!parallel) {
+					throw rowErrors[row];
+				}
+				errors.add(rowErrors[row]);
+				continue;
 			}
+			for (BoardCell cell : rows[row]) {
+				char roomInitial = cell.getInitial();
+				if (roomInitial != WALKWAY_INITIAL && !roomMap.containsKey(roomInitial)) {
+					BadConfigFormatException error = new BadConfigFormatException("Room '" + roomInitial
+							+ "' not found in setup file (row " + row + ", column " + cell.getCol() + ")");
+					if (!parallel) {
+						throw error;
+					}
+					errors.add(error);
+				} else {
+					indexSpecialCell(cell);
+				}
+			}
+		}
+		if (errors.size() == 1) {
+			throw errors.get(0);
+		} else if (!errors.isEmpty()) {
+			throw new BadConfigFormatException(errors);
+		}
+		numRows = rows.length;
+		grid = rows;
+	}
+	
+	// Load everything from the compiled board next to the layout file, if it is present and up to date.
+	// Returns false, leaving the board to be parsed from the source files, when it cannot be used.
+	private boolean loadCompiledBoard() {
+		if (!useCompiledBoard) {
+			return false;
+		}
+		CompiledBoard compiled;
+		try {
+			compiled = CompiledBoard.read(CompiledBoard.fileFor(layoutConfigFile), layoutConfigFile, setupConfigFile);
+		} catch (IOException | IllegalArgumentException e) {
+			// A damaged or foreign compiled file is as good as a missing one
+			return false;
+		}
+		if (compiled == null) {
+			return false;
 		}
 		
-		// Create grid
-		grid = new BoardCell[numRows][numColumns];
+		// Check the compiled cells before any field is replaced, so a bad file leaves nothing behind
+		Map<Character, Room> compiledRooms = compiled.getRoomMap();
+		BoardCell[][] compiledGrid = compiled.getGrid();
+		for (BoardCell[] cells : compiledGrid) {
+			for (BoardCell cell : cells) {
+				if (cell.getInitial() != WALKWAY_INITIAL && !compiledRooms.containsKey(cell.getInitial())) {
+					return false;
+				}
+			}
+		}
 		
-		// Second pass: populate grid
-		for (int row = 0; row < numRows; row++) {
-			String[] cells = lines.get(row).split(",");
-			for (int col = 0; col < numColumns; col++) {
-				String cellStr = cells[col].trim();
-				
-				// Parse cell string
-				char roomInitial = cellStr.charAt(0);
-				
-				// Validate room exists in setup
-				if (roomInitial != WALKWAY_INITIAL && !roomMap.containsKey(roomInitial)) {
-					throw new BadConfigFormatException("Room '" + roomInitial + "' not found in setup file");
+		roomMap = compiledRooms;
+		players = compiled.getPlayers();
+		personNames = compiled.getPersonNames();
+		weaponNames = compiled.getWeaponNames();
+		grid = compiledGrid;
+		numRows = grid.length;
+		numColumns = compiled.getNumColumns();
+		doorways = new ArrayList<>();
+		secretPassageCells = new HashMap<>();
+		for (BoardCell[] cells : grid) {
+			for (BoardCell cell : cells) {
+				indexSpecialCell(cell);
+			}
+		}
+		attachGraph(compiled.getGraph());
+		loadedFromCompiled = true;
+		return true;
+	}
+	
+	// Write the loaded board to the compiled file next to the layout file, for later initialize calls
+	public File compileBoard() throws IOException {
+		if (grid == null || graph == null) {
+			throw new IllegalStateException("Board has not been initialized");
+		}
+		// Players are written at their starting cells, wherever they have moved since
+		List<Player> starts = new ArrayList<>();
+		for (BoardTopology.PlayerStart start : topology.getPlayerStarts()) {
+			starts.add(start.createPlayer());
+		}
+		File target = CompiledBoard.fileFor(layoutConfigFile);
+		CompiledBoard.write(target, layoutConfigFile, setupConfigFile, roomMap, starts, weaponNames, grid, graph);
+		return target;
+	}
+	
+	// Parse the source files with a private board and write their compiled board, so the shared
+	// instance is left alone
+	static File compileBoard(String layoutFile, String setupFile) throws BadConfigFormatException, IOException {
+		Board loader = new Board();
+		loader.setConfigFiles(layoutFile, setupFile);
+		loader.setUseCompiledBoard(false);
+		loader.load();
+		return loader.compileBoard();
+	}
+	
+	// Choose whether initialize may load a compiled board instead of parsing the source files
+	public void setUseCompiledBoard(boolean enabled) {
+		useCompiledBoard = enabled;
+	}
+	
+	public boolean isUseCompiledBoard() {
+		return useCompiledBoard;
+	}
+	
+	// Whether the last initialize loaded the compiled board
+	public boolean isLoadedFromCompiled() {
+		return loadedFromCompiled;
+	}
+	
+	// Check whether the compiled board for the current config files exists and is up to date
+	public boolean isCompiledBoardCurrent() {
+		return CompiledBoard.isCurrent(CompiledBoard.fileFor(layoutConfigFile), layoutConfigFile, setupConfigFile);
+	}
+	
+	// Choose how loadLayoutConfig reads the layout file
+	public void setLayoutLoadMode(LayoutLoadMode mode) {
+		layoutLoadMode = mode;
+	}
+	
+	public LayoutLoadMode getLayoutLoadMode() {
+		return layoutLoadMode;
+	}
+	
+	// Single pass: each line is tokenized in place and its cells are created as it is read
+	private BoardCell[][] readLayoutStreaming() throws BadConfigFormatException, FileNotFoundException {
+		List<BoardCell[]> rows = new ArrayList<>();
+		numColumns = -1;
+		try (BufferedReader reader = new BufferedReader(new FileReader(layoutConfigFile))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (numColumns < 0) {
+					numColumns = countColumns(line);
 				}
-				
-				// Create cell
-				BoardCell cell = new BoardCell(row, col, roomInitial);
-				
-				// Parse special characters
-				if (cellStr.length() > 1) {
-					char secondChar = cellStr.charAt(1);
-					
-					switch (secondChar) {
-						case LABEL_INDICATOR:  // Label cell
-							cell.setLabel(true);
-							roomMap.get(roomInitial).setLabelCell(cell);
-							break;
-						case CENTER_INDICATOR:  // Center cell
-							cell.setRoomCenter(true);
-							roomMap.get(roomInitial).setCenterCell(cell);
-							break;
-						case DOOR_UP:  // Door facing UP
-							cell.setDoorDirection(DoorDirection.UP);
-							break;
-						case DOOR_DOWN:  // Door facing DOWN
-							cell.setDoorDirection(DoorDirection.DOWN);
-							break;
-						case DOOR_LEFT:  // Door facing LEFT
-							cell.setDoorDirection(DoorDirection.LEFT);
-							break;
-						case DOOR_RIGHT:  // Door facing RIGHT
-							cell.setDoorDirection(DoorDirection.RIGHT);
-							break;
-						default:   // Secret passage
-							cell.setSecretPassage(secondChar);
-							break;
+				rows.add(parseRow(line, rows.size()));
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new BadConfigFormatException("Error reading layout file: " + e.getMessage());
+		}
+		return rows.toArray(new BoardCell[rows.size()][]);
+	}
+	
+	// Read the layout lines into memory so their rows can be parsed in parallel
+	private List<String> readLayoutLines() throws BadConfigFormatException, FileNotFoundException {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(layoutConfigFile))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new BadConfigFormatException("Error reading layout file: " + e.getMessage());
+		}
+		return lines;
+	}
+	
+	// Parse every line into rows, recording a bad row's error in rowErrors instead of its cells.
+	// In parallel the rows are split across the fork/join pool and every row is parsed;
+	// sequentially parsing stops at the first bad row, as the streaming read does.
+	private void parseRows(IntFunction<CharSequence> lines, BoardCell[][] rows, BadConfigFormatException[] rowErrors,
+			boolean parallel) {
+		if (rows.length == 0) {
+			return;
+		}
+		numColumns = countColumns(lines.apply(0));
+		RowParseTask task = new RowParseTask(lines, rows, rowErrors, 0, rows.length, parallel);
+		if (parallel) {
+			ForkJoinPool.commonPool().invoke(task);
+		} else {
+			task.compute();
+		}
+	}
+	
+	// Parses rows [from, to) of a layout, splitting the range across the fork/join pool
+	private class RowParseTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private static final int ROWS_PER_TASK = 64;
+		private final IntFunction<CharSequence> lines;
+		private final BoardCell[][] rows;
+		private final BadConfigFormatException[] rowErrors;
+		private final int from;
+		private final int to;
+		private final boolean parseAll;
+		
+		RowParseTask(IntFunction<CharSequence> lines, BoardCell[][] rows, BadConfigFormatException[] rowErrors,
+				int from, int to, boolean parseAll) {
+			this.lines = lines;
+			this.rows = rows;
+			this.rowErrors = rowErrors;
+			this.from = from;
+			this.to = to;
+			this.parseAll = parseAll;
+		}
+		
+		@Override
+		protected void compute() {
+			if (!parseAll || to - from <= ROWS_PER_TASK) {
+				for (int row = from; row < to; row++) {
+					try {
+						rows[row] = parseRow(lines.apply(row), row);
+					} catch (BadConfigFormatException e) {
+						rowErrors[row] = e;
+						if (!parseAll) {
+							return;
+						}
 					}
 				}
-				
-				grid[row][col] = cell;
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new RowParseTask(lines, rows, rowErrors, from, mid, true),
+					new RowParseTask(lines, rows, rowErrors, mid, to, true));
+		}
+	}
+	
+	// Check the column count of a line against the first row and create its cells
+	private BoardCell[] parseRow(CharSequence line, int row) throws BadConfigFormatException {
+		int columns = countColumns(line);
+		if (columns != numColumns) {
+			throw new BadConfigFormatException("All rows must have the same number of columns (row " + row + " has "
+					+ columns + ", expected " + numColumns + ")");
+		}
+		BoardCell[] cells = new BoardCell[numColumns];
+		int start = 0;
+		for (int col = 0; col < numColumns; col++) {
+			int end = start;
+			while (end < line.length() && line.charAt(end) != ',') {
+				end++;
 			}
+			cells[col] = parseCell(line, start, end, row, col);
+			start = end + 1;
+		}
+		return cells;
+	}
+	
+	// Number of cells in a layout line, counted the way String.split(",") would:
+	// trailing empty cells are dropped and an empty line has one empty cell
+	private static int countColumns(CharSequence line) {
+		if (line.length() == 0) {
+			return 1;
+		}
+		int end = line.length();
+		while (end > 0 && line.charAt(end - 1) == ',') {
+			end--;
+		}
+		if (end == 0) {
+			return 0;
+		}
+		int columns = 1;
+		for (int i = 0; i < end; i++) {
+			if (line.charAt(i) == ',') {
+				columns++;
+			}
+		}
+		return columns;
+	}
+	
+	// Create the cell for the characters line[start, end), ignoring surrounding whitespace
+	private BoardCell parseCell(CharSequence line, int start, int end, int row, int col) throws BadConfigFormatException {
+		while (start < end && line.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && line.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (start == end) {
+			throw new BadConfigFormatException("Empty cell at row " + row + ", column " + col);
+		}
+		
+		char roomInitial = line.charAt(start);
+		BoardCell cell = new BoardCell(row, col, roomInitial);
+		cell.setId(row * numColumns + col);
+		
+		// Parse special characters
+		if (end - start > 1) {
+			char secondChar = line.charAt(start + 1);
+			
+			switch (secondChar) {
+				case LABEL_INDICATOR:  // Label cell
+					cell.setLabel(true);
+					break;
+				case CENTER_INDICATOR:  // Center cell
+					cell.setRoomCenter(true);
+					break;
+				case DOOR_UP:  // Door facing UP
+					cell.setDoorDirection(DoorDirection.UP);
+					break;
+				case DOOR_DOWN:  // Door facing DOWN
+					cell.setDoorDirection(DoorDirection.DOWN);
+					break;
+				case DOOR_LEFT:  // Door facing LEFT
+					cell.setDoorDirection(DoorDirection.LEFT);
+					break;
+				case DOOR_RIGHT:  // Door facing RIGHT
+					cell.setDoorDirection(DoorDirection.RIGHT);
+					break;
+				default:   // Secret passage
+					cell.setSecretPassage(secondChar);
+					break;
+			}
+		}
+		return cell;
+	}
+	
+	// Record labels and centers on their rooms, and index doorways and secret passages
+	private void indexSpecialCell(BoardCell cell) {
+		char roomInitial = cell.getInitial();
+		if (cell.isLabel()) {
+			roomMap.get(roomInitial).setLabelCell(cell);
+		} else if (cell.isRoomCenter()) {
+			roomMap.get(roomInitial).setCenterCell(cell);
+		} else if (cell.isDoorway()) {
+			doorways.add(cell);
+		} else if (cell.hasSecretPassage()) {
+			secretPassageCells.computeIfAbsent(roomInitial, k -> new ArrayList<>()).add(cell);
 		}
 	}
 	
 	//creates the deck of 21 cards (or however many is in setup.txt)
 	public void createDeck() {
-        List<Card> roomCards = new ArrayList<>();
-        List<Card> personCards = new ArrayList<>();
-        List<Card> weaponCards = new ArrayList<>();
-
-        for (Room room : roomMap.values()) {
-            if ("Room".equals(room.getType()) && !room.getName().isEmpty()) {
-                roomCards.add(new Card(room.getName(), CardType.ROOM));
-            }
-        }
-
-        for (String person : personNames) {
-            personCards.add(new Card(person, CardType.PERSON));
-        }
-
-        for (String weapon : weaponNames) {
-            weaponCards.add(new Card(weapon, CardType.WEAPON));
-        }
+		game.createDeck();
+	}
 
-        deck = new ArrayList<>();
-        deck.addAll(roomCards);
-        deck.addAll(personCards);
-        deck.addAll(weaponCards);
-    }
+	// The canonical cards of this board, which the deck is made from
+	public CardRegistry getCardRegistry() {
+		return topology != null ? topology.getCardRegistry() : null;
+	}
 
 	//deal cards to players 6
-    public void dealCards() {
-        if (deck == null) createDeck();
-
-        List<Card> roomCards = new ArrayList<>();
-        List<Card> personCards = new ArrayList<>();
-        List<Card> weaponCards = new ArrayList<>();
-
-        for (Card c : deck) {
-            switch (c.getType()) {
-                case ROOM: roomCards.add(c); break;
-                case PERSON: personCards.add(c); break;
-                case WEAPON: weaponCards.add(c); break;
-            }
-        }
-
-        Collections.shuffle(roomCards);
-        Collections.shuffle(personCards);
-        Collections.shuffle(weaponCards);
-
-        Card room = roomCards.remove(0);
-        Card person = personCards.remove(0);
-        Card weapon = weaponCards.remove(0);
-        theAnswer = new Solution(person, weapon, room);
-
-        List<Card> remainingDeck = new ArrayList<>();
-        remainingDeck.addAll(roomCards);
-        remainingDeck.addAll(personCards);
-        remainingDeck.addAll(weaponCards);
-        Collections.shuffle(remainingDeck);
-
-        int playerIdx = 0;
-        for (Card c : remainingDeck) {
-            players.get(playerIdx).updateHand(c);
-            playerIdx = (playerIdx + 1) % players.size();
-        }
-    }
-    
+	public void dealCards() {
+		game.dealCards();
+	}
+	
 	// Get room by initial character, return empty room if not found
 	public Room getRoom(char c) {
 		if (roomMap.containsKey(c)) {
@@ -341,8 +648,26 @@ public class Board extends JPanel {
 		return row >= 0 && row < numRows && col >= 0 && col < numColumns;
 	}
 	
-	// Calculate adjacencies for walkways and room centers
+	// Calculate adjacencies for walkways and room centers into the board graph
 	private void calcAdjacencies() {
+		BoardCell[] cells = new BoardCell[numRows * numColumns];
+		for (int row = 0; row < numRows; row++) {
+			for (int col = 0; col < numColumns; col++) {
+				cells[grid[row][col].getId()] = grid[row][col];
+			}
+		}
+		
+		// Group doorways by the room center they lead into, keeping row-major order
+		Map<BoardCell, List<BoardCell>> doorsByCenter = new HashMap<>();
+		for (BoardCell door : doorways) {
+			BoardCell roomCenter = getDoorTarget(door);
+			if (roomCenter != null) {
+				doorsByCenter.computeIfAbsent(roomCenter, k -> new ArrayList<>()).add(door);
+			}
+		}
+		
+		// Cells are visited in id order, and each cell's edges are added while visiting it
+		BoardGraph.Builder builder = new BoardGraph.Builder(cells);
 		for (int row = 0; row < numRows; row++) {
 			for (int col = 0; col < numColumns; col++) {
 				BoardCell cell = grid[row][col];
@@ -351,63 +676,62 @@ public class Board extends JPanel {
 				if (cell.getInitial() != WALKWAY_INITIAL && !cell.isRoomCenter()) {
 					continue;
 				}
+				builder.startCell(cell.getId());
 				
 				// Room center cells
 				if (cell.isRoomCenter()) {
-					calcRoomCenterAdj(cell);
+					calcRoomCenterAdj(builder, cell, doorsByCenter.get(cell));
 				}
 				// Walkway cells
 				else if (cell.getInitial() == WALKWAY_INITIAL) {
-					calcWalkwayAdj(cell);
+					calcWalkwayAdj(builder, cell);
 				}
 			}
 		}
+		
+		attachGraph(builder.build());
 	}
 	
-	// Calculate adjacencies for room center (doorways + secret passages)
-	private void calcRoomCenterAdj(BoardCell cell) {
-		addDoorwayAdjacencies(cell);
-		addSecretPassageAdjacency(cell);
+	// Use the graph for adjacency queries and give every cell fresh occupancy
+	private void attachGraph(BoardGraph boardGraph) {
+		graph = boardGraph;
+		occupancy = new Occupancy(graph.getNumCells());
+		for (int id = 0; id < graph.getNumCells(); id++) {
+			BoardCell cell = graph.getCell(id);
+			cell.setGraph(graph);
+			cell.setOccupancy(occupancy);
+		}
 	}
 	
-	// Add all doorways that lead into this room center
-	private void addDoorwayAdjacencies(BoardCell roomCenter) {
-		for (int row = 0; row < numRows; row++) {
-			for (int col = 0; col < numColumns; col++) {
-				BoardCell potentialDoor = grid[row][col];
-				if (potentialDoor.isDoorway()) {
-					BoardCell doorTarget = getDoorTarget(potentialDoor);
-					// Check if this door points to this specific room center
-					if (doorTarget == roomCenter) {
-						roomCenter.addAdj(potentialDoor);
-					}
-				}
+	// Calculate adjacencies for room center (doorways + secret passages)
+	private void calcRoomCenterAdj(BoardGraph.Builder builder, BoardCell cell, List<BoardCell> doors) {
+		if (doors != null) {
+			for (BoardCell door : doors) {
+				builder.addEdge(door.getId());
 			}
 		}
+		addSecretPassageAdjacency(builder, cell);
 	}
 	
 	// Add secret passage for room if one exists
-	private void addSecretPassageAdjacency(BoardCell roomCenter) {
-		char roomInitial = roomCenter.getInitial();
+	private void addSecretPassageAdjacency(BoardGraph.Builder builder, BoardCell roomCenter) {
+		List<BoardCell> passages = secretPassageCells.get(roomCenter.getInitial());
+		if (passages == null) {
+			return;
+		}
 		
-		for (int row = 0; row < numRows; row++) {
-			for (int col = 0; col < numColumns; col++) {
-				BoardCell roomCell = grid[row][col];
-				// If this cell is part of our room and has a secret passage
-				if (roomCell.getInitial() == roomInitial && roomCell.getSecretPassage() != NO_SECRET_PASSAGE) {
-					char targetRoomInitial = roomCell.getSecretPassage();
-					Room targetRoom = roomMap.get(targetRoomInitial);
-					if (targetRoom != null && targetRoom.getCenterCell() != null) {
-						roomCenter.addAdj(targetRoom.getCenterCell());
-						return; // Only add one secret passage per room
-					}
-				}
+		// Passage cells are in row-major order; use the first that leads to a room with a center
+		for (BoardCell roomCell : passages) {
+			Room targetRoom = roomMap.get(roomCell.getSecretPassage());
+			if (targetRoom != null && targetRoom.getCenterCell() != null) {
+				builder.addEdge(targetRoom.getCenterCell().getId());
+				return; // Only add one secret passage per room
 			}
 		}
 	}
 	
 	// Calculate adjacencies for walkway cells including doorways
-	private void calcWalkwayAdj(BoardCell cell) {
+	private void calcWalkwayAdj(BoardGraph.Builder builder, BoardCell cell) {
 		int row = cell.getRow();
 		int col = cell.getCol();
 		
@@ -418,37 +742,37 @@ public class Board extends JPanel {
 			
 			// Add walkway adjacencies in all directions except the door direction
 			if (dir != DoorDirection.UP) {
-				addWalkwayAdj(cell, row - 1, col); // Up
+				addWalkwayAdj(builder, row - 1, col); // Up
 			}
 			if (dir != DoorDirection.DOWN) {
-				addWalkwayAdj(cell, row + 1, col); // Down
+				addWalkwayAdj(builder, row + 1, col); // Down
 			}
 			if (dir != DoorDirection.LEFT) {
-				addWalkwayAdj(cell, row, col - 1); // Left
+				addWalkwayAdj(builder, row, col - 1); // Left
 			}
 			if (dir != DoorDirection.RIGHT) {
-				addWalkwayAdj(cell, row, col + 1); // Right
+				addWalkwayAdj(builder, row, col + 1); // Right
 			}
 			
 			// Add the room center this door points to
 			if (roomCenter != null) {
-				cell.addAdj(roomCenter);
+				builder.addEdge(roomCenter.getId());
 			}
 		} else {
 			// Regular walkway - add all four directions
-			addWalkwayAdj(cell, row - 1, col); // Up
-			addWalkwayAdj(cell, row + 1, col); // Down
-			addWalkwayAdj(cell, row, col - 1); // Left
-			addWalkwayAdj(cell, row, col + 1); // Right
+			addWalkwayAdj(builder, row - 1, col); // Up
+			addWalkwayAdj(builder, row + 1, col); // Down
+			addWalkwayAdj(builder, row, col - 1); // Left
+			addWalkwayAdj(builder, row, col + 1); // Right
 		}
 	}
 	
 	// Add adjacent walkway if valid position and walkway type
-	private void addWalkwayAdj(BoardCell cell, int row, int col) {
+	private void addWalkwayAdj(BoardGraph.Builder builder, int row, int col) {
 		if (isValidCell(row, col)) {
 			BoardCell adj = grid[row][col];
 			if (adj.getInitial() == WALKWAY_INITIAL) {
-				cell.addAdj(adj);
+				builder.addEdge(adj.getId());
 			}
 		}
 	}
@@ -488,36 +812,281 @@ public class Board extends JPanel {
 		return null;
 	}
 	
-	// Return adjacency list for cell at given position
+	// Return read-only adjacency list for cell at given position
 	public Set<BoardCell> getAdjList(int row, int col) {
-		BoardCell cell = getCell(row, col);
-		if (cell != null && cell.getAdjList() != null) {
-			return cell.getAdjList();
+		return getCell(row, col).getAdjList();
+	}
+	
+	// Return the adjacency graph built by the last initialize
+	public BoardGraph getGraph() {
+		return graph;
+	}
+	
+	// Choose the search used by calcTargets
+	public void setTargetMode(TargetMode mode) {
+		targetMode = mode;
+	}
+	
+	public TargetMode getTargetMode() {
+		return targetMode;
+	}
+	
+	// Set the number of cached target sets; 0 disables the cache (takes effect on initialize)
+	public void setTargetCacheCapacity(int capacity) {
+		targetCacheCapacity = capacity;
+	}
+	
+	// Return the target cache, or null if caching is disabled
+	public TargetCache getTargetCache() {
+		return targetCache;
+	}
+	
+	// Also precompute all-pairs walkway distances (takes effect on initialize)
+	public void setWalkwayDistances(boolean enabled) {
+		walkwayDistances = enabled;
+	}
+	
+	// Return the distance tables built by the last initialize
+	public DistanceTable getDistanceTable() {
+		return distances;
+	}
+	
+	// Planner for computer players, built from the distance tables of the last initialize
+	public MovementPlanner getMovementPlanner() {
+		return movementPlanner;
+	}
+	
+	// Steps from a cell to the center of a room on the empty board, or DistanceTable.UNREACHABLE
+	public int getRoomDistance(BoardCell cell, Room room) {
+		BoardCell center = room.getCenterCell();
+		if (distances == null || center == null || !isBoardCell(cell)) {
+			return DistanceTable.UNREACHABLE;
 		}
-		return new HashSet<BoardCell>();
+		return distances.getDistanceToCenter(cell.getId(), center.getId());
+	}
+	
+	// Steps between two walkway cells; requires setWalkwayDistances(true) before initialize
+	public int getWalkwayDistance(BoardCell from, BoardCell to) {
+		return distances.getWalkwayDistance(from.getId(), to.getId());
+	}
+	
+	// Probability tables for reaching rooms within 0..maxTurns turns, computed on first use and
+	// kept until the next initialize; a request for more turns rebuilds them
+	public ReachProbabilities getReachProbabilities(int maxTurns) {
+		ReachProbabilities table = reachProbabilities;
+		if (table == null || table.getMaxTurns() < maxTurns) {
+			table = precomputeReachProbabilities(maxTurns, false);
+		}
+		return table;
+	}
+	
+	// Build and cache the probability tables now, optionally in parallel
+	public ReachProbabilities precomputeReachProbabilities(int maxTurns, boolean parallel) {
+		ReachProbabilities table = ReachProbabilities.compute(this, maxTurns, parallel);
+		reachProbabilities = table;
+		return table;
+	}
+	
+	// Probability of reaching the room from the cell within the number of turns
+	public double getReachProbability(BoardCell cell, Room room, int turns) {
+		BoardCell center = room.getCenterCell();
+		if (center == null || !isBoardCell(cell)) {
+			return 0;
+		}
+		return getReachProbabilities(turns).getProbability(cell.getId(), center.getId(), turns);
 	}
 	
 	// Calculate all possible targets from starting cell with given path length
 	public void calcTargets(BoardCell startCell, int pathLength) {
+		// Only cells of the current graph are cached; results depend on occupancy, so it is part of the key
+		int id = startCell.getId();
+		boolean cacheable = targetCache != null && isBoardCell(startCell);
+		if (cacheable) {
+			Set<BoardCell> cached = targetCache.get(id, pathLength, occupancy.getFingerprint());
+			if (cached != null) {
+				targets = new HashSet<>(cached);
+				visited = null;
+				return;
+			}
+		}
+		
+		searchTargets(startCell, pathLength);
+		if (cacheable) {
+			// Remember the cells the search tested so the entry survives moves elsewhere on the board
+			targetCache.put(id, pathLength, occupancy.getFingerprint(), targets, touchedIds, touchedCount);
+		}
+	}
+	
+	// Run the search selected by the target mode, leaving in touchedIds the cells whose occupancy
+	// it tested, or null when the search does not record them
+	private void searchTargets(BoardCell startCell, int pathLength) {
+		touchedIds = null;
+		touchedCount = 0;
+		if (targetMode == TargetMode.BITSET && targetEngine != null && pathLength > 0) {
+			targets = targetEngine.findTargets(startCell, pathLength);
+			visited = null;
+			return;
+		}
+		if (targetMode == TargetMode.STAMPED && stampedSearch != null && isBoardCell(startCell)) {
+			int count = stampedSearch.search(startCell.getId(), pathLength);
+			targets = new HashSet<BoardCell>();
+			for (int i = 0; i < count; i++) {
+				targets.add(graph.getCell(stampedSearch.getTargetId(i)));
+			}
+			visited = null;
+			touchedIds = stampedSearch.getTouchedIds();
+			touchedCount = stampedSearch.getTouchedCount();
+			return;
+		}
 		targets = new HashSet<BoardCell>();
 		visited = new HashSet<BoardCell>();
+		touchedCells = new BitSet();
 		visited.add(startCell);
 		findAllTargets(startCell, pathLength);
+		touchedIds = touchedCells.stream().toArray();
+		touchedCount = touchedIds.length;
+		touchedCells = null;
+	}
+	
+	// Thread-safe movement query: returns an immutable result and leaves getTargets untouched.
+	// Many threads may query the same loaded board at once as long as nobody moves pieces meanwhile.
+	public TargetResult findTargets(BoardCell startCell, int pathLength) {
+		return findTargets(startCell, pathLength, null);
+	}
+	
+	// Thread-safe movement query against a frozen occupancy, so pieces may move while it runs
+	public TargetResult findTargets(BoardCell startCell, int pathLength, OccupancySnapshot snapshot) {
+		ThreadLocal<StampedTargetSearch> scratch = querySearch;
+		if (scratch == null) {
+			return new TargetResult(startCell, pathLength, new HashSet<BoardCell>());
+		}
+		StampedTargetSearch search = scratch.get();
+		BoardGraph queryGraph = search.getGraph();
+		int id = startCell.getId();
+		if (id < 0 || id >= queryGraph.getNumCells() || queryGraph.getCell(id) != startCell) {
+			return new TargetResult(startCell, pathLength, new HashSet<BoardCell>());
+		}
+		if (snapshot == null) {
+			search.search(id, pathLength);
+		} else {
+			search.search(id, pathLength, snapshot);
+		}
+		return TargetResult.fromSearch(startCell, pathLength, queryGraph, search);
+	}
+	
+	// Thread-safe batch query: targets for every roll 1..maxRoll from one traversal
+	public RollTargets findTargetsForRolls(BoardCell startCell, int maxRoll) {
+		return findTargetsForRolls(startCell, maxRoll, null);
+	}
+	
+	// Batch query against a frozen occupancy
+	public RollTargets findTargetsForRolls(BoardCell startCell, int maxRoll, OccupancySnapshot snapshot) {
+		ThreadLocal<StampedTargetSearch> scratch = querySearch;
+		if (scratch == null) {
+			return RollTargets.empty(startCell, maxRoll);
+		}
+		StampedTargetSearch search = scratch.get();
+		BoardGraph queryGraph = search.getGraph();
+		int id = startCell.getId();
+		if (id < 0 || id >= queryGraph.getNumCells() || queryGraph.getCell(id) != startCell) {
+			return RollTargets.empty(startCell, maxRoll);
+		}
+		if (snapshot == null) {
+			search.searchAllRolls(id, maxRoll);
+		} else {
+			search.searchAllRolls(id, maxRoll, snapshot);
+		}
+		return RollTargets.fromSearch(startCell, maxRoll, queryGraph, search);
+	}
+	
+	// Batch targets for every player's current position, computed in parallel with fork/join
+	public Map<Player, RollTargets> findPlayerTargets(int maxRoll) {
+		List<Player> playerList = new ArrayList<>(players);
+		OccupancySnapshot snapshot = occupancy == null ? null : occupancy.snapshot();
+		RollTargets[] results = ForkJoinPool.commonPool().invoke(new PlayerTargetsTask(playerList, maxRoll, snapshot));
+		Map<Player, RollTargets> byPlayer = new LinkedHashMap<>();
+		for (int i = 0; i < playerList.size(); i++) {
+			byPlayer.put(playerList.get(i), results[i]);
+		}
+		return byPlayer;
+	}
+	
+	// Splits the player list in halves until each task handles a single player
+	private class PlayerTargetsTask extends RecursiveTask<RollTargets[]> {
+		private static final long serialVersionUID = 1L;
+		private final List<Player> players;
+		private final int maxRoll;
+		private final OccupancySnapshot snapshot;
+		
+		PlayerTargetsTask(List<Player> players, int maxRoll, OccupancySnapshot snapshot) {
+			this.players = players;
+			this.maxRoll = maxRoll;
+			this.snapshot = snapshot;
+		}
+		
+		@Override
+		protected RollTargets[] compute() {
+			if (players.size() <= 1) {
+				RollTargets[] results = new RollTargets[players.size()];
+				for (int i = 0; i < results.length; i++) {
+					Player player = players.get(i);
+					results[i] = findTargetsForRolls(getCell(player.getRow(), player.getCol()), maxRoll, snapshot);
+				}
+				return results;
+			}
+			int mid = players.size() / 2;
+			PlayerTargetsTask left = new PlayerTargetsTask(players.subList(0, mid), maxRoll, snapshot);
+			PlayerTargetsTask right = new PlayerTargetsTask(players.subList(mid, players.size()), maxRoll, snapshot);
+			left.fork();
+			RollTargets[] rightResults = right.compute();
+			RollTargets[] leftResults = left.join();
+			RollTargets[] results = Arrays.copyOf(leftResults, leftResults.length + rightResults.length);
+			System.arraycopy(rightResults, 0, results, leftResults.length, rightResults.length);
+			return results;
+		}
+	}
+	
+	// Allocation-free search: fill the reusable target buffer and return the number of targets.
+	// Results are read with getTargetId and are overwritten by the next call; use findTargets from other threads.
+	public int calcTargetIds(BoardCell startCell, int pathLength) {
+		if (stampedSearch == null || !isBoardCell(startCell)) {
+			return 0;
+		}
+		return stampedSearch.search(startCell.getId(), pathLength);
+	}
+	
+	// Cell id of a target from the last calcTargetIds call
+	public int getTargetId(int index) {
+		return stampedSearch.getTargetId(index);
+	}
+	
+	// Return the cell with the given dense id
+	public BoardCell getCellById(int id) {
+		return graph.getCell(id);
+	}
+	
+	// Check that a cell belongs to the current board graph
+	private boolean isBoardCell(BoardCell cell) {
+		int id = cell.getId();
+		return graph != null && id >= 0 && id < graph.getNumCells() && graph.getCell(id) == cell;
 	}
 	
 	// Recursively find all targets using backtracking
 	private void findAllTargets(BoardCell cell, int numSteps) {
-		// Get adjacency list for current cell
-		Set<BoardCell> adjList = cell.getAdjList();
-		if (adjList == null) return;
+		int id = cell.getId();
+		if (graph == null || id < 0) return;
 		
-		for (BoardCell adjCell : adjList) {
+		for (int i = graph.getNeighborStart(id); i < graph.getNeighborEnd(id); i++) {
+			BoardCell adjCell = graph.getCell(graph.getNeighbor(i));
 			// Skip if already visited or occupied (unless it's a room center)
 			if (visited.contains(adjCell)) {
 				continue;
 			}
-			if (adjCell.isOccupied() && !adjCell.isRoomCenter()) {
-				continue;
+			if (!adjCell.isRoomCenter()) {
+				touchedCells.set(adjCell.getId());
+				if (adjCell.isOccupied()) {
+					continue;
+				}
 			}
 			
 			visited.add(adjCell);
@@ -539,6 +1108,16 @@ public class Board extends JPanel {
 		return targets;
 	}
 	
+	// Show the given cells as the current targets, e.g. the targets of a GameEngine turn. Cells
+	// of the topology are swapped for this board's cells with the same ids.
+	public void setTargets(Set<BoardCell> cells) {
+		targets = new HashSet<>();
+		for (BoardCell cell : cells) {
+			targets.add(isBoardCell(cell) || graph == null || cell.getId() < 0 ? cell : graph.getCell(cell.getId()));
+		}
+		visited = null;
+	}
+	
 	// Clear targets (used when turn ends or after player moves)
 	public void clearTargets() {
 		if (targets != null) {
@@ -548,71 +1127,17 @@ public class Board extends JPanel {
 	
 	// Check if accusation matches theAnswer
     public boolean checkAccusation(Solution accusation) {
-        if (theAnswer == null || accusation == null) {
-            return false;
-        }
-        
-        return theAnswer.getPerson().equals(accusation.getPerson()) &&
-               theAnswer.getWeapon().equals(accusation.getWeapon()) &&
-               theAnswer.getRoom().equals(accusation.getRoom());
+        return game != null && game.checkAccusation(accusation);
     }
     
     // Handle suggestion by querying players in order, return card that disproves or null
     public Card handleSuggestion(Player accuser, Solution suggestion) {
-        // Find the accuser's index in the player list
-        int accuserIndex = players.indexOf(accuser);
-        if (accuserIndex == -1) {
-            return null; // Accuser not in player list
-        }
-        
-        // Query each player in order, starting after the accuser
-        for (int i = 1; i < players.size(); i++) {
-            int currentIndex = (accuserIndex + i) % players.size();
-            Player currentPlayer = players.get(currentIndex);
-            
-            Card disproofCard = currentPlayer.disproveSuggestion(suggestion);
-            if (disproofCard != null) {
-                return disproofCard; // First player to disprove
-            }
-        }
-        
-        return null; // No one could disprove
-    }
-    
-    // Helper class to return both card and player who showed it
-    public static class SuggestionResult {
-        private Card card;
-        private Player player;
-        
-        public SuggestionResult(Card card, Player player) {
-            this.card = card;
-            this.player = player;
-        }
-        
-        public Card getCard() { return card; }
-        public Player getPlayer() { return player; }
+        return game != null ? game.handleSuggestion(accuser, suggestion) : null;
     }
     
     // Handle suggestion and return both the card and who showed it
     public SuggestionResult handleSuggestionWithOwner(Player accuser, Solution suggestion) {
-        // Find the accuser's index in the player list
-        int accuserIndex = players.indexOf(accuser);
-        if (accuserIndex == -1) {
-            return null; // Accuser not in player list
-        }
-        
-        // Query each player in order, starting after the accuser
-        for (int i = 1; i < players.size(); i++) {
-            int currentIndex = (accuserIndex + i) % players.size();
-            Player currentPlayer = players.get(currentIndex);
-            
-            Card disproofCard = currentPlayer.disproveSuggestion(suggestion);
-            if (disproofCard != null) {
-                return new SuggestionResult(disproofCard, currentPlayer);
-            }
-        }
-        
-        return null; // No one could disprove
+        return game != null ? game.handleSuggestionWithOwner(accuser, suggestion) : null;
     }
     
     /**
@@ -622,30 +1147,7 @@ public class Board extends JPanel {
      * @return The player that was moved (or null if not found)
      */
     public Player moveAccusedPlayerToRoom(Solution suggestion, Room room) {
-        String personName = suggestion.getPerson().getName();
-        BoardCell roomCenter = room.getCenterCell();
-        
-        if (roomCenter == null) {
-            return null;
-        }
-        
-        // Find the player matching the accused person
-        for (Player player : players) {
-            if (player.getName().equals(personName)) {
-                // Move player to room center
-                player.setPosition(roomCenter.getRow(), roomCenter.getCol());
-                
-                // Mark that this player was moved by suggestion
-                if (player instanceof ComputerPlayer) {
-                    ((ComputerPlayer) player).setWasMovedBySuggestion(true);
-                } else if (player instanceof HumanPlayer) {
-                    ((HumanPlayer) player).setWasMovedBySuggestion(true);
-                }
-                
-                return player;
-            }
-        }
-        return null;
+        return game != null ? game.moveAccusedPlayerToRoom(suggestion, room) : null;
     }
     
 	// Test getters
@@ -672,24 +1174,131 @@ public class Board extends JPanel {
     }
 
     public List<Card> getDeck() {
-        return new ArrayList<>(deck); // Copy for test
+        return game != null ? game.getDeck() : new ArrayList<>();
     }
 
     public Solution getTheAnswer() {
-        return theAnswer;
+        return game != null ? game.getTheAnswer() : null;
     }
     
     // Test helpers
     public void setTheAnswer(Solution answer) {
-        this.theAnswer = answer;
+        if (game != null) {
+            game.setTheAnswer(answer);
+        }
+    }
+    
+    // The immutable part of the loaded board, shareable with other games
+    public BoardTopology getTopology() {
+        return topology;
+    }
+    
+    // This board's own game: its players, deck and answer
+    public GameState getGame() {
+        return game;
+    }
+    
+    // Draw this board's deal, dice and players' choices from the given stream, so a seeded
+    // game can be replayed
+    public void setRandom(GameRandom random) {
+        if (game != null) {
+            game.setRandom(random);
+        }
+    }
+    
+    public GameRandom getRandom() {
+        return game != null ? game.getRandom() : null;
     }
     
     public void clearPlayers() {
+        detachPlayers();
         players.clear();
+        if (game != null) {
+            game.playersChanged();
+        }
     }
     
 	public void addPlayer(Player player) {
         players.add(player);
+        if (game != null) {
+            player.setRandom(game.getRandom().split());
+            game.playersChanged();
+        }
+        if (playerOccupancy) {
+            trackPlayer(player);
+        }
+    }
+    
+    // Turn on to mark the cells of players as occupied and keep them in step with every move.
+    // Off by default so boards loaded for analysis start empty.
+    public void setPlayerOccupancy(boolean enabled) {
+        if (enabled == playerOccupancy) {
+            return;
+        }
+        playerOccupancy = enabled;
+        if (players == null) {
+            return;
+        }
+        if (enabled) {
+            for (Player player : players) {
+                trackPlayer(player);
+            }
+        } else {
+            detachPlayers();
+        }
+    }
+    
+    public boolean isPlayerOccupancy() {
+        return playerOccupancy;
+    }
+    
+    // Return the occupancy bitmap of the loaded board
+    public Occupancy getOccupancy() {
+        return occupancy;
+    }
+    
+    // Mark the player's cell occupied and follow the player's moves
+    private void trackPlayer(Player player) {
+        player.setMoveListener(occupancyTracker);
+        int id = getCellId(player.getRow(), player.getCol());
+        if (id >= 0) {
+            occupancy.enter(id);
+        }
+    }
+    
+    // Stop following the current players and release the cells they occupy
+    private void detachPlayers() {
+        if (players == null) {
+            return;
+        }
+        for (Player player : players) {
+            if (player.getMoveListener() == occupancyTracker) {
+                player.setMoveListener(null);
+                int id = getCellId(player.getRow(), player.getCol());
+                if (id >= 0) {
+                    occupancy.leave(id);
+                }
+            }
+        }
+    }
+    
+    private void updateOccupancy(Player player, int oldRow, int oldCol) {
+        int oldId = getCellId(oldRow, oldCol);
+        if (oldId >= 0) {
+            occupancy.leave(oldId);
+        }
+        int newId = getCellId(player.getRow(), player.getCol());
+        if (newId >= 0) {
+            occupancy.enter(newId);
+        }
+    }
+    
+    // Dense id of the cell at a position, or -1 if there is no occupancy to track it in
+    private int getCellId(int row, int col) {
+        if (occupancy == null || grid == null || !isValidCell(row, col)) {
+            return -1;
+        }
+        return grid[row][col].getId();
     }
     
     // Paint component method called by Swing to draw the board
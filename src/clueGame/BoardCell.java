@@ -2,8 +2,8 @@ package clueGame;
 
 import java.awt.Color;
 import java.awt.Graphics;
+import java.util.Collections;
 import java.util.Set;
-import java.util.HashSet;
 
 // Represents a single cell on the Clue board with position and properties
 public class BoardCell {
@@ -11,6 +11,7 @@ public class BoardCell {
 	private static final char WALKWAY_INITIAL = 'W';
 	private static final char NO_SECRET_PASSAGE = ' ';
 	
+	private int id = -1;
 	private int row;
 	private int col;
 	private char initial;
@@ -18,8 +19,11 @@ public class BoardCell {
 	private boolean roomLabel;
 	private boolean roomCenter;
 	private char secretPassage;
-	private Set<BoardCell> adjList;
+	private BoardGraph graph;
+	private Occupancy occupancy;
 	private boolean isOccupied;
+	// Cells of a BoardTopology are shared by its games and refuse every change
+	private boolean readOnly;
 	
 	// Default constructor creates a walkway cell
 	public BoardCell() {
@@ -40,6 +44,31 @@ public class BoardCell {
 		this.secretPassage = NO_SECRET_PASSAGE;
 		this.isOccupied = false;
 	}
+	
+	// Read-only copy of a loaded cell, unoccupied and attached to no graph yet
+	BoardCell(BoardCell cell) {
+		this(cell.row, cell.col, cell.initial);
+		this.id = cell.id;
+		this.doorDirection = cell.doorDirection;
+		this.roomLabel = cell.roomLabel;
+		this.roomCenter = cell.roomCenter;
+		this.secretPassage = cell.secretPassage;
+	}
+	
+	// Refuse any further change; used once a topology cell is attached to its graph
+	void makeReadOnly() {
+		readOnly = true;
+	}
+	
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+	
+	private void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Cell " + row + "," + col + " belongs to a shared topology");
+		}
+	}
 
 	// Check if cell is a doorway
 	public boolean isDoorway() {
@@ -51,6 +80,7 @@ public class BoardCell {
 	}
 	
 	public void setDoorDirection(DoorDirection direction) {
+		checkWritable();
 		this.doorDirection = direction;
 	}
 
@@ -59,6 +89,7 @@ public class BoardCell {
 	}
 	
 	public void setLabel(boolean isLabel) {
+		checkWritable();
 		this.roomLabel = isLabel;
 	}
 
@@ -67,6 +98,7 @@ public class BoardCell {
 	}
 	
 	public void setRoomCenter(boolean isCenter) {
+		checkWritable();
 		this.roomCenter = isCenter;
 	}
 
@@ -75,17 +107,34 @@ public class BoardCell {
 	}
 	
 	public void setSecretPassage(char passage) {
+		checkWritable();
 		this.secretPassage = passage;
 	}
+	
+	// Check if cell holds a secret passage to another room
+	public boolean hasSecretPassage() {
+		return secretPassage != NO_SECRET_PASSAGE;
+	}
 
 	public char getInitial() {
 		return initial;
 	}
 	
 	public void setInitial(char initial) {
+		checkWritable();
 		this.initial = initial;
 	}
 	
+	// Dense index assigned by the board (row * numColumns + col), -1 if not on a board
+	public int getId() {
+		return id;
+	}
+	
+	public void setId(int id) {
+		checkWritable();
+		this.id = id;
+	}
+	
 	public int getRow() {
 		return row;
 	}
@@ -94,27 +143,39 @@ public class BoardCell {
 		return col;
 	}
 	
-	// Add adjacent cell to adjacency list
-	public void addAdj(BoardCell adj) {
-		if (adjList == null) {
-			adjList = new HashSet<>();
-		}
-		adjList.add(adj);
+	// Attach this cell to the board graph that holds its adjacencies
+	public void setGraph(BoardGraph graph) {
+		checkWritable();
+		this.graph = graph;
 	}
 	
-	// Return set of adjacent cells
+	// Return read-only view of adjacent cells from the board graph
 	public Set<BoardCell> getAdjList() {
-		if (adjList == null) {
-			adjList = new HashSet<>();
+		if (graph == null) {
+			return Collections.emptySet();
 		}
-		return adjList;
+		return graph.getAdjacentCells(id);
+	}
+	
+	// Attach this cell to the board's occupancy bitmap
+	public void setOccupancy(Occupancy occupancy) {
+		checkWritable();
+		this.occupancy = occupancy;
 	}
 	
+	// Cells on a board read the board's occupancy bitmap; detached cells keep their own flag
 	public boolean isOccupied() {
+		if (occupancy != null) {
+			return occupancy.isOccupied(id);
+		}
 		return isOccupied;
 	}
 	
 	public void setOccupied(boolean occupied) {
+		checkWritable();
+		if (occupancy != null) {
+			occupancy.setOccupied(id, occupied);
+		}
 		this.isOccupied = occupied;
 	}
 	
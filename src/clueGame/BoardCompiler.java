@@ -0,0 +1,33 @@
+package clueGame;
+
+import java.io.File;
+import java.io.IOException;
+
+// Command line tool that parses a layout and setup pair from the data directory and
+// writes the compiled board that Board.initialize loads while both files are unchanged.
+// Usage: BoardCompiler [layoutFile setupFile], defaulting to ClueLayout.csv and ClueSetup.txt
+public class BoardCompiler {
+	private BoardCompiler() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 0 && args.length != 2) {
+			System.out.println("Usage: BoardCompiler [layoutFile setupFile]");
+			System.exit(1);
+		}
+		String layoutFile = args.length == 2 ? args[0] : "ClueLayout.csv";
+		String setupFile = args.length == 2 ? args[1] : "ClueSetup.txt";
+		File target = compile(layoutFile, setupFile);
+		System.out.println("Wrote " + target.getPath() + " (" + target.length() + " bytes)");
+	}
+
+	// Parse the source files and write their compiled board, returning the file written. The
+	// shared Board instance is not touched.
+	public static File compile(String layoutFile, String setupFile) throws IOException {
+		try {
+			return Board.compileBoard(layoutFile, setupFile);
+		} catch (BadConfigFormatException e) {
+			throw new IOException("Could not load " + layoutFile + " and " + setupFile, e);
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package clueGame;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Immutable board topology in compressed sparse row form, indexed by cell id.
+// The neighbors of cell id are neighbors[offsets[id]] .. neighbors[offsets[id + 1] - 1];
+// the reverse edges are stored the same way so searches can walk backwards.
+public class BoardGraph {
+	private final BoardCell[] cells;
+	private final int[] offsets;
+	private final int[] neighbors;
+	private final int[] reverseOffsets;
+	private final int[] reverseNeighbors;
+	private final long[] roomCenters;
+
+	private BoardGraph(BoardCell[] cells, int[] offsets, int[] neighbors) {
+		this.cells = cells;
+		this.offsets = offsets;
+		this.neighbors = neighbors;
+
+		roomCenters = new long[(cells.length + 63) >>> 6];
+		for (int id = 0; id < cells.length; id++) {
+			if (cells[id].isRoomCenter()) {
+				roomCenters[id >>> 6] |= 1L << id;
+			}
+		}
+
+		// Count in-degrees, then place every edge under its target
+		int numCells = cells.length;
+		reverseOffsets = new int[numCells + 1];
+		for (int neighbor : neighbors) {
+			reverseOffsets[neighbor + 1]++;
+		}
+		for (int id = 0; id < numCells; id++) {
+			reverseOffsets[id + 1] += reverseOffsets[id];
+		}
+		reverseNeighbors = new int[neighbors.length];
+		int[] fill = Arrays.copyOf(reverseOffsets, numCells);
+		for (int id = 0; id < numCells; id++) {
+			for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+				reverseNeighbors[fill[neighbors[i]]++] = id;
+			}
+		}
+	}
+
+	// Wrap adjacency arrays that were already built, e.g. read back from a compiled board
+	static BoardGraph fromArrays(BoardCell[] cells, int[] offsets, int[] neighbors) {
+		return new BoardGraph(cells, offsets, neighbors);
+	}
+
+	// The same adjacency over other cells with the same ids, e.g. a topology's own copies
+	BoardGraph withCells(BoardCell[] otherCells) {
+		return new BoardGraph(otherCells, offsets, neighbors);
+	}
+
+	public int getNumCells() {
+		return cells.length;
+	}
+
+	// Return the number of directed edges in the graph
+	public int getNumEdges() {
+		return neighbors.length;
+	}
+
+	public BoardCell getCell(int id) {
+		return cells[id];
+	}
+
+	// Check the room center flag without touching the cell object
+	public boolean isRoomCenter(int id) {
+		return (roomCenters[id >>> 6] & (1L << id)) != 0;
+	}
+
+	// First index into the neighbor array for the given cell
+	public int getNeighborStart(int id) {
+		return offsets[id];
+	}
+
+	// One past the last index into the neighbor array for the given cell
+	public int getNeighborEnd(int id) {
+		return offsets[id + 1];
+	}
+
+	// Cell id stored at the given index of the neighbor array
+	public int getNeighbor(int index) {
+		return neighbors[index];
+	}
+
+	public int getDegree(int id) {
+		return offsets[id + 1] - offsets[id];
+	}
+
+	// First index into the predecessor array for the given cell
+	public int getPredecessorStart(int id) {
+		return reverseOffsets[id];
+	}
+
+	// One past the last index into the predecessor array for the given cell
+	public int getPredecessorEnd(int id) {
+		return reverseOffsets[id + 1];
+	}
+
+	// Cell id stored at the given index of the predecessor array
+	public int getPredecessor(int index) {
+		return reverseNeighbors[index];
+	}
+
+	// Check whether there is an edge from one cell to another
+	public boolean isAdjacent(int fromId, int toId) {
+		for (int i = offsets[fromId]; i < offsets[fromId + 1]; i++) {
+			if (neighbors[i] == toId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Read-only set view of the cells adjacent to the given cell
+	public Set<BoardCell> getAdjacentCells(int id) {
+		return new AdjacentCells(id);
+	}
+
+	private class AdjacentCells extends AbstractSet<BoardCell> {
+		private final int id;
+
+		AdjacentCells(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int size() {
+			return getDegree(id);
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof BoardCell)) {
+				return false;
+			}
+			int otherId = ((BoardCell) o).getId();
+			return otherId >= 0 && otherId < cells.length && cells[otherId] == o && isAdjacent(id, otherId);
+		}
+
+		@Override
+		public Iterator<BoardCell> iterator() {
+			return new Iterator<BoardCell>() {
+				private int index = offsets[id];
+
+				@Override
+				public boolean hasNext() {
+					return index < offsets[id + 1];
+				}
+
+				@Override
+				public BoardCell next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return cells[neighbors[index++]];
+				}
+			};
+		}
+	}
+
+	// Collects edges cell by cell in increasing id order and freezes them into a graph
+	public static class Builder {
+		private final BoardCell[] cells;
+		private final int[] offsets;
+		private int[] neighbors;
+		private int numEdges;
+		private int currentId = -1;
+
+		public Builder(BoardCell[] cells) {
+			this.cells = cells;
+			this.offsets = new int[cells.length + 1];
+			this.neighbors = new int[Math.max(16, cells.length * 2)];
+		}
+
+		// Start the edge list for the next cell; ids must be visited in increasing order
+		public void startCell(int id) {
+			if (id <= currentId) {
+				throw new IllegalStateException("Cells must be added in increasing id order");
+			}
+			for (int skipped = currentId + 1; skipped <= id; skipped++) {
+				offsets[skipped] = numEdges;
+			}
+			currentId = id;
+		}
+
+		// Add an edge from the current cell, ignoring duplicates
+		public void addEdge(int toId) {
+			for (int i = offsets[currentId]; i < numEdges; i++) {
+				if (neighbors[i] == toId) {
+					return;
+				}
+			}
+			if (numEdges == neighbors.length) {
+				neighbors = Arrays.copyOf(neighbors, neighbors.length * 2);
+			}
+			neighbors[numEdges++] = toId;
+		}
+
+		public BoardGraph build() {
+			for (int id = currentId + 1; id <= cells.length; id++) {
+				offsets[id] = numEdges;
+			}
+			return new BoardGraph(cells, offsets, Arrays.copyOf(neighbors, numEdges));
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package clueGame;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The parts of a loaded board that never change during play: the grid, rooms, adjacency
+// graph, distance tables and the setup entries for persons and weapons. A topology is
+// built once and never modified, so any number of games, on any threads, can share one;
+// everything that changes while playing lives in a GameState. The cells, rooms and graph are
+// read-only copies of the loading board's, with the same ids: their setters throw, and they
+// are attached to no occupancy, so no game can change another through them.
+public final class BoardTopology {
+	private final int numRows;
+	private final int numColumns;
+	private final BoardCell[][] grid;
+	private final Map<Character, Room> roomMap;
+	private final List<BoardCell> doorways;
+	private final BoardGraph graph;
+	private final List<PlayerStart> playerStarts;
+	private final List<String> personNames;
+	private final List<String> weaponNames;
+	private final List<String> roomNames;
+	private final CardRegistry cards;
+	private final DistanceTable distances;
+	private final MovementPlanner movementPlanner;
+
+	BoardTopology(BoardCell[][] grid, int numColumns, Map<Character, Room> roomMap, List<BoardCell> doorways,
+			BoardGraph graph, List<Player> players, List<String> weaponNames, DistanceTable distances) {
+		this.numRows = grid.length;
+		this.numColumns = numColumns;
+		this.distances = distances;
+
+		// Copy the cells by id and attach them to a graph of their own before freezing them
+		BoardCell[] cells = new BoardCell[graph.getNumCells()];
+		for (int id = 0; id < cells.length; id++) {
+			cells[id] = new BoardCell(graph.getCell(id));
+		}
+		this.graph = graph.withCells(cells);
+		for (BoardCell cell : cells) {
+			cell.setGraph(this.graph);
+			cell.makeReadOnly();
+		}
+		this.grid = new BoardCell[numRows][];
+		for (int row = 0; row < numRows; row++) {
+			this.grid[row] = new BoardCell[grid[row].length];
+			for (int col = 0; col < grid[row].length; col++) {
+				this.grid[row][col] = copyOf(grid[row][col]);
+			}
+		}
+		Map<Character, Room> rooms = new LinkedHashMap<>();
+		for (Map.Entry<Character, Room> entry : roomMap.entrySet()) {
+			Room room = entry.getValue();
+			rooms.put(entry.getKey(), new Room(room, copyOf(room.getCenterCell()), copyOf(room.getLabelCell())));
+		}
+		this.roomMap = Collections.unmodifiableMap(rooms);
+		List<BoardCell> doorCopies = new ArrayList<>();
+		for (BoardCell door : doorways) {
+			doorCopies.add(copyOf(door));
+		}
+		this.doorways = Collections.unmodifiableList(doorCopies);
+
+		List<PlayerStart> starts = new ArrayList<>();
+		List<String> persons = new ArrayList<>();
+		for (Player player : players) {
+			starts.add(new PlayerStart(player));
+			persons.add(player.getName());
+		}
+		this.playerStarts = Collections.unmodifiableList(starts);
+		this.personNames = Collections.unmodifiableList(persons);
+		this.weaponNames = Collections.unmodifiableList(new ArrayList<>(weaponNames));
+
+		List<String> names = new ArrayList<>();
+		for (Room room : this.roomMap.values()) {
+			if ("Room".equals(room.getType()) && !room.getName().isEmpty()) {
+				names.add(room.getName());
+			}
+		}
+		this.roomNames = Collections.unmodifiableList(names);
+		this.cards = new CardRegistry(roomNames, personNames, this.weaponNames);
+		this.movementPlanner = new MovementPlanner(this);
+	}
+
+	// This topology's copy of a loading board cell, or null
+	private BoardCell copyOf(BoardCell cell) {
+		return cell != null && cell.getId() >= 0 ? graph.getCell(cell.getId()) : null;
+	}
+
+	// Load a topology from a layout and setup file in the data directory, without touching
+	// the shared Board instance
+	public static BoardTopology load(String layoutFile, String setupFile) throws BadConfigFormatException, FileNotFoundException {
+		return Board.loadTopology(layoutFile, setupFile);
+	}
+
+	// Start a new game on this topology with fresh players at their starting cells
+	public GameState newGame() {
+		return new GameState(this);
+	}
+
+	// Start a new game in which the computer plays every person
+	public GameState newComputerGame() {
+		return new GameState(this, true);
+	}
+
+	public int getNumRows() {
+		return numRows;
+	}
+
+	public int getNumColumns() {
+		return numColumns;
+	}
+
+	// Get cell at position, return empty cell if out of bounds
+	public BoardCell getCell(int row, int col) {
+		if (row >= 0 && row < numRows && col >= 0 && col < numColumns) {
+			return grid[row][col];
+		}
+		return new BoardCell();
+	}
+
+	public BoardCell getCellById(int id) {
+		return graph.getCell(id);
+	}
+
+	// Get room by initial character, return empty room if not found
+	public Room getRoom(char c) {
+		Room room = roomMap.get(c);
+		return room != null ? room : new Room();
+	}
+
+	// Get room for the given cell
+	public Room getRoom(BoardCell cell) {
+		return cell != null ? getRoom(cell.getInitial()) : new Room();
+	}
+
+	// Doorway cells in row-major order
+	public List<BoardCell> getDoorways() {
+		return doorways;
+	}
+
+	public BoardGraph getGraph() {
+		return graph;
+	}
+
+	public DistanceTable getDistanceTable() {
+		return distances;
+	}
+
+	public MovementPlanner getMovementPlanner() {
+		return movementPlanner;
+	}
+
+	// Persons from the setup file, in file order
+	public List<PlayerStart> getPlayerStarts() {
+		return playerStarts;
+	}
+
+	public List<String> getPersonNames() {
+		return personNames;
+	}
+
+	public List<String> getWeaponNames() {
+		return weaponNames;
+	}
+
+	public List<String> getRoomNames() {
+		return roomNames;
+	}
+
+	// The cards of this board, numbered in deck order. Cards never change, so every game shares them.
+	public CardRegistry getCardRegistry() {
+		return cards;
+	}
+
+	// This board's card with the given name and type, carrying its id, or a new card without
+	// an id if the board has no such card
+	public Card getCard(String name, CardType type) {
+		Card card = cards.findCard(name, type);
+		return card != null ? card : new Card(name, type);
+	}
+
+	// A new deck of every room, person and weapon card, in that order
+	public List<Card> createDeck() {
+		return new ArrayList<>(cards.getCards());
+	}
+
+	// A person entry from the setup file, used to create that person's player for each game
+	public static final class PlayerStart {
+		private final String name;
+		private final String colorName;
+		private final int row;
+		private final int col;
+		private final boolean human;
+
+		PlayerStart(Player player) {
+			this.name = player.getName();
+			this.colorName = player.getColorName();
+			this.row = player.getRow();
+			this.col = player.getCol();
+			this.human = player instanceof HumanPlayer;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getColorName() {
+			return colorName;
+		}
+
+		public int getRow() {
+			return row;
+		}
+
+		public int getCol() {
+			return col;
+		}
+
+		public boolean isHuman() {
+			return human;
+		}
+
+		// A new player at the starting cell
+		public Player createPlayer() {
+			return human ? new HumanPlayer(name, colorName, row, col) : new ComputerPlayer(name, colorName, row, col);
+		}
+
+		// A new computer player at the starting cell, even for the human's person
+		public ComputerPlayer createComputerPlayer() {
+			return new ComputerPlayer(name, colorName, row, col);
+		}
+	}
+}
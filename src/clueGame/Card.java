@@ -1,14 +1,32 @@
 package clueGame;
 
-import java.util.Objects;
-
 public class Card {
-    private String cardName;
-    private CardType type;
+    // Id of a card made outside a deck; ids only speed up lookups and never affect equality
+    public static final int NO_ID = -1;
+    // Cards with ids below this fit in the bits of a long, so a set of them can be kept as a
+    // mask. Ids are only unique within one registry, so masks may only be compared for cards
+    // of the same one.
+    public static final int MAX_IDS = Long.SIZE;
+
+    private final String cardName;
+    private final CardType type;
+    private final int id;
+    // Registry that numbered the card, or null for a card without an id
+    private final CardRegistry registry;
+    // Hashed once, as cards are hashed on every seen-set and map lookup
+    private final int hash;
 
     public Card(String cardName, CardType type) {
+        this(cardName, type, NO_ID, null);
+    }
+
+    // A deck card with its dense id in the registry, from 0 up
+    Card(String cardName, CardType type, int id, CardRegistry registry) {
         this.cardName = cardName;
         this.type = type;
+        this.id = id;
+        this.registry = id == NO_ID ? null : registry;
+        this.hash = 31 * cardName.hashCode() + type.ordinal();
     }
 
     public String getName() {
@@ -19,16 +37,36 @@ public class Card {
         return type;
     }
 
+    // Dense id of a deck card, or NO_ID
+    public int getId() {
+        return id;
+    }
+
+    // Registry the id belongs to, or null for a card without an id
+    public CardRegistry getRegistry() {
+        return registry;
+    }
+
+    // Check the card has an id below MAX_IDS, and so a bit in a card mask
+    public boolean fitsInMask() {
+        return id != NO_ID && id < MAX_IDS;
+    }
+
+    // Bit of this card in a mask of its registry's cards, or 0 unless it fits in a mask
+    public long getMask() {
+        return fitsInMask() ? 1L << id : 0;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Card card = (Card) o;
-        return cardName.equals(card.cardName) && type == card.type;
+        return hash == card.hash && type == card.type && cardName.equals(card.cardName);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(cardName, type);
+        return hash;
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package clueGame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Which seat holds each dealt card, by card id, so the player who must disprove a suggestion
+// is found from the owners of its three cards instead of by asking every player in turn.
+// The index is built from the hands after a deal and follows cards added to hands later; a
+// card that does not fit in a mask, or one held by two players, makes it unusable until the
+// next deal.
+final class CardOwnerIndex implements PlayerHandListener {
+	static final int NO_OWNER = -1;
+
+	private final Player[] seats;
+	private final int[] owners;
+	private boolean usable = true;
+
+	// Index the hands of the players, whose seats must already be their places in the list
+	CardOwnerIndex(List<Player> players) {
+		this.seats = players.toArray(new Player[0]);
+		this.owners = new int[Card.MAX_IDS];
+		Arrays.fill(owners, NO_OWNER);
+		for (Player player : seats) {
+			for (Card card : player.getHand()) {
+				cardAdded(player, card);
+			}
+			player.setHandListener(this);
+		}
+	}
+
+	@Override
+	public void cardAdded(Player player, Card card) {
+		int id = card.getId();
+		if (!card.fitsInMask() || (owners[id] != NO_OWNER && owners[id] != player.getSeat())) {
+			usable = false;
+			return;
+		}
+		owners[id] = player.getSeat();
+	}
+
+	// Check the index still describes the hands of these players
+	boolean isUsable(List<Player> players) {
+		return usable && players.size() == seats.length;
+	}
+
+	// Stop using the index, after the players changed
+	void invalidate() {
+		usable = false;
+	}
+
+	// Seat holding the card with the given id, or NO_OWNER
+	int getOwner(int id) {
+		return owners[id];
+	}
+
+	// Seat of the first player clockwise from the accuser holding a card of the mask, or
+	// NO_OWNER if only the accuser, or nobody, holds them
+	int findDisprover(int accuserSeat, long suggestionMask) {
+		int best = NO_OWNER;
+		int bestDistance = seats.length;
+		for (long rest = suggestionMask; rest != 0; rest &= rest - 1) {
+			int seat = owners[Long.numberOfTrailingZeros(rest)];
+			if (seat == NO_OWNER || seat == accuserSeat) {
+				continue;
+			}
+			int distance = Math.floorMod(seat - accuserSeat, seats.length);
+			if (distance < bestDistance) {
+				best = seat;
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,97 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The one canonical Card for each room, person and weapon of a board, numbered densely in
+// deck order. Cards never change, so the games of a topology all share its registry, and a
+// card from it can be compared by id and kept in masks. Lookups by name go through a map per
+// card type keyed by the name itself, so they allocate nothing.
+public final class CardRegistry {
+	private final List<Card> cards;
+	private final Map<CardType, Map<String, Card>> byName = new EnumMap<>(CardType.class);
+
+	// Cards for the given names, rooms first, then persons, then weapons, numbered from 0
+	CardRegistry(List<String> roomNames, List<String> personNames, List<String> weaponNames) {
+		List<Card> all = new ArrayList<>();
+		for (CardType type : CardType.values()) {
+			byName.put(type, new HashMap<>());
+		}
+		add(all, roomNames, CardType.ROOM);
+		add(all, personNames, CardType.PERSON);
+		add(all, weaponNames, CardType.WEAPON);
+		this.cards = Collections.unmodifiableList(all);
+	}
+
+	private void add(List<Card> all, List<String> names, CardType type) {
+		Map<String, Card> named = byName.get(type);
+		for (String name : names) {
+			Card card = new Card(name, type, all.size(), this);
+			all.add(card);
+			named.put(name, card);
+		}
+	}
+
+	// Every card, in id order
+	public List<Card> getCards() {
+		return cards;
+	}
+
+	public int size() {
+		return cards.size();
+	}
+
+	// Check that every card fits in a card mask, so sets of them can be kept as masks; the
+	// mask fast paths are only used while this holds
+	public boolean fitsInMask() {
+		return cards.size() <= Card.MAX_IDS;
+	}
+
+	// The card with the given id
+	public Card getCard(int id) {
+		return cards.get(id);
+	}
+
+	// The card with the given name and type, or null if there is none
+	public Card findCard(String name, CardType type) {
+		return byName.get(type).get(name);
+	}
+
+	// The registered card equal to the given one, or the card itself if it is not registered
+	public Card intern(Card card) {
+		if (card == null) {
+			return null;
+		}
+		Card registered = findCard(card.getName(), card.getType());
+		return registered != null ? registered : card;
+	}
+
+	// Bit of the registered card equal to the given one, or 0 if it is not registered. A card
+	// numbered by another registry is matched by name, never by its own id.
+	public long getMask(Card card) {
+		Card registered = card != null ? findCard(card.getName(), card.getType()) : null;
+		return registered != null ? registered.getMask() : 0;
+	}
+
+	// Mask of the registered cards equal to the given ones; cards not registered are left out
+	public long getMask(Iterable<Card> cards) {
+		long mask = 0;
+		for (Card card : cards) {
+			mask |= getMask(card);
+		}
+		return mask;
+	}
+
+	// The cards of a mask, in id order
+	public List<Card> getCards(long mask) {
+		List<Card> result = new ArrayList<>(Long.bitCount(mask));
+		for (long rest = mask; rest != 0; rest &= rest - 1) {
+			result.add(cards.get(Long.numberOfTrailingZeros(rest)));
+		}
+		return result;
+	}
+}
@@ -4,7 +4,6 @@ import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.Random;
 import java.util.Set;
 
 import javax.swing.JFrame;
@@ -18,15 +17,18 @@ import gui.SuggestionDialog;
 /**
  * Main entry point for the Clue Game GUI
  * This class creates the game window and integrates all panels
- * Handles game flow, turn management, and player interactions
+ * Turns are run by a GameEngine; the window listens to its events and passes on the human's choices
  * 
  * @author Toan Nguyen and Wagner
  */
-public class ClueGame extends JFrame {
+public class ClueGame extends JFrame implements GameListener {
 	
 	// Singleton board instance
 	private Board board;
 	
+	// Runs the turns of the board's game
+	private GameEngine engine;
+	
 	// GUI panels
 	private GameControlPanel controlPanel;
 	private KnownCardsPanel cardsPanel;
@@ -34,36 +36,40 @@ public class ClueGame extends JFrame {
 	// Reference to human player for updates
 	private HumanPlayer humanPlayer;
 	
-	// Game state
-	private int currentPlayerIndex;
-	private int currentRoll;
-	private Set<BoardCell> currentTargets;
-	private boolean humanTurnInProgress;
-	private boolean hasMovedThisTurn;
-	private boolean gameOver;
-	private Random random;
+	/**
+	 * Constructor - sets up the game window and all panels for a game nobody needs to replay
+	 */
+	public ClueGame() {
+		this(new GameRandom());
+	}
 	
 	/**
 	 * Constructor - sets up the game window and all panels
+	 * @param random Source of the deal, the dice and the computer players' choices
 	 */
-	public ClueGame() {
-		// Initialize game state
-		random = new Random();
-		currentPlayerIndex = 0;
-		currentRoll = 0;
-		humanTurnInProgress = false;
-		hasMovedThisTurn = false;
-		gameOver = false;
-		
+	public ClueGame(GameRandom random) {
 		// Initialize the board
 		board = Board.getInstance();
 		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
 		board.initialize();
+		board.setPlayerOccupancy(true);
+		
+		// Computer players plan their moves toward unseen rooms
+		for (Player player : board.getPlayers()) {
+			if (player instanceof ComputerPlayer) {
+				((ComputerPlayer) player).setPlanner(board.getMovementPlanner());
+			}
+		}
 		
 		// Deal cards to players
+		board.setRandom(random);
 		board.createDeck();
 		board.dealCards();
 		
+		// The engine plays the board's own game and reports to this window
+		engine = new GameEngine(board.getGame());
+		engine.addListener(this);
+		
 		// Set up the frame
 		setTitle("Clue Game");
 		setSize(1000, 800);
@@ -98,9 +104,7 @@ public class ClueGame extends JFrame {
 			}
 		}
 		
-		if (humanPlayer != null) {
-			cardsPanel.updatePanel(humanPlayer.getHand(), humanPlayer.getSeenCards());
-		}
+		refreshKnownCardsPanel();
 		
 		// Set up button listeners
 		setupButtonListeners();
@@ -115,7 +119,7 @@ public class ClueGame extends JFrame {
 			JOptionPane.INFORMATION_MESSAGE);
 		
 		// Start the first turn
-		startTurn();
+		engine.start();
 	}
 	
 	/**
@@ -162,92 +166,132 @@ public class ClueGame extends JFrame {
 	}
 	
 	/**
-	 * Start a new turn for the current player
-	 * Flowchart: Update current player -> Roll dice -> Calc Targets -> Update Game Control Panel
-	 * Then: Is new player human? Yes -> Display Targets, Flag unfinished
-	 *                            No -> Do accusation?, Do Move, Make Suggestion?
+	 * A new turn started: show the roll and highlight the targets
 	 */
-	private void startTurn() {
-		// Don't start new turns if game is over
-		if (gameOver) {
-			return;
-		}
-		
-		// Update current player (already set by currentPlayerIndex)
-		Player currentPlayer = board.getPlayers().get(currentPlayerIndex);
-		
-		// Roll the dice (1-6)
-		currentRoll = random.nextInt(6) + 1;
-		
-		// Calc Targets
-		BoardCell currentCell = board.getCell(currentPlayer.getRow(), currentPlayer.getCol());
-		board.calcTargets(currentCell, currentRoll);
-		currentTargets = board.getTargets();
-		
-		// Handle "stay in room" logic - if player was moved by suggestion, they can stay
-		// Only HUMAN players get this choice - computer players must move out to prevent cascade
-		if (currentCell.isRoomCenter()) {
-			if (currentPlayer instanceof HumanPlayer) {
-				HumanPlayer hp = (HumanPlayer) currentPlayer;
-				if (hp.wasMovedBySuggestion()) {
-					// Add current room as a target option for human player
-					currentTargets.add(currentCell);
-					hp.setWasMovedBySuggestion(false); // Reset flag
-				}
-			} else if (currentPlayer instanceof ComputerPlayer) {
-				ComputerPlayer cp = (ComputerPlayer) currentPlayer;
-				if (cp.wasMovedBySuggestion()) {
-					// Computer players who were dragged to a room MUST leave
-					// This prevents cascade of all players being dragged to same room
-					cp.setWasMovedBySuggestion(false); // Reset flag but don't add room as target
-				}
-			}
-		}
-		
-		// Update Game Control Panel
-		controlPanel.setTurn(currentPlayer, currentRoll);
+	@Override
+	public void turnStarted(Player player, int roll, Set<BoardCell> targets) {
+		controlPanel.setTurn(player, roll);
 		controlPanel.setGuess("");
 		controlPanel.setGuessResult("");
-		
-		// Repaint board to show/hide targets
+		board.setTargets(targets);
 		board.repaint();
-		
-		// Is new player human?
-		if (currentPlayer instanceof HumanPlayer) {
-			// YES: Display Targets and Flag unfinished
-			humanTurnInProgress = true;
-			hasMovedThisTurn = false;
-			
-			// Check if there are any valid targets (handle no moves case)
-			if (currentTargets == null || currentTargets.isEmpty()) {
-				// No valid moves - allow player to pass
-				hasMovedThisTurn = true; // Flag as finished since no moves possible
+	}
+	
+	/**
+	 * A player moved: clear the highlighted targets and redraw
+	 */
+	@Override
+	public void playerMoved(Player player, BoardCell cell) {
+		board.clearTargets();
+		board.repaint();
+	}
+	
+	@Override
+	public void suggestionMade(Player player, Solution suggestion) {
+		controlPanel.setGuess(describe(suggestion));
+	}
+	
+	/**
+	 * Show who disproved a suggestion; the human sees the card itself
+	 */
+	@Override
+	public void suggestionAnswered(Player player, Solution suggestion, SuggestionResult result) {
+		if (player != humanPlayer) {
+			if (result != null) {
+				controlPanel.setGuessResult("Disproven by " + result.getPlayer().getName());
+				refreshKnownCardsPanel();
+			} else {
+				controlPanel.setGuessResult("No one could disprove!");
 			}
-			// Targets are displayed via board repaint (highlighted cells)
-			// Player must click on board to move -> End (wait for event)
-		} else {
-			// NO: Computer player turn
-			humanTurnInProgress = false;
-			hasMovedThisTurn = true;
+			return;
+		}
+		
+		if (result != null) {
+			// Show card to human - display the actual card
+			controlPanel.setGuessResult(result.getCard().getName() + " (from " + result.getPlayer().getName() + ")");
 			
-			ComputerPlayer computer = (ComputerPlayer) currentPlayer;
+			// Update human player's seen cards
+			updateHumanSeenCard(result.getCard(), result.getPlayer());
 			
-			// Do accusation? Check if computer should make an accusation
-			if (computer.shouldMakeAccusation()) {
-				handleComputerAccusation(computer);
-				if (gameOver) {
-					return; // Game ended due to accusation
-				}
+			// Show which card was revealed
+			JOptionPane.showMessageDialog(this, 
+				result.getPlayer().getName() + " shows you: " + result.getCard().getName(),
+				"Suggestion Disproven", 
+				JOptionPane.INFORMATION_MESSAGE);
+		} else {
+			controlPanel.setGuessResult("No new clue");
+			JOptionPane.showMessageDialog(this, 
+				"No one could disprove your suggestion!",
+				"Suggestion Result", 
+				JOptionPane.INFORMATION_MESSAGE);
+		}
+	}
+	
+	/**
+	 * Show the outcome of an accusation by any player
+	 */
+	@Override
+	public void accusationMade(Player player, Solution accusation, boolean correct) {
+		controlPanel.setGuess("Accusation: " + describe(accusation));
+		
+		if (player == humanPlayer) {
+			if (correct) {
+				// Player wins!
+				controlPanel.setGuessResult("CORRECT! You win!");
+				JOptionPane.showMessageDialog(this, 
+					"Congratulations! Your accusation was correct!\n\n" +
+					"The answer was:\n" +
+					describeCrime(accusation) + "\n\n" +
+					"You WIN!",
+					"You Win!", 
+					JOptionPane.INFORMATION_MESSAGE);
+			} else {
+				// Player loses!
+				controlPanel.setGuessResult("WRONG! You lose!");
+				JOptionPane.showMessageDialog(this, 
+					"Sorry! Your accusation was incorrect!\n\n" +
+					"You accused:\n" +
+					describeCrime(accusation) + "\n\n" +
+					"The correct answer was:\n" +
+					describeCrime(board.getTheAnswer()) + "\n\n" +
+					"You LOSE!",
+					"You Lose!", 
+					JOptionPane.ERROR_MESSAGE);
 			}
-			
-			// Do Move
-			processComputerTurn();
-			
-			// Make Suggestion? handled inside processComputerTurn if in room
-			// -> End (computer turn complete)
+		} else if (correct) {
+			// Computer wins!
+			controlPanel.setGuessResult("CORRECT! " + player.getName() + " wins!");
+			JOptionPane.showMessageDialog(this, 
+				player.getName() + " has made a correct accusation!\n\n" +
+				"The answer was:\n" +
+				describeCrime(accusation) + "\n\n" +
+				player.getName() + " WINS!\nYou lose!",
+				"Game Over - Computer Wins!", 
+				JOptionPane.INFORMATION_MESSAGE);
+		} else {
+			// Computer made wrong accusation (shouldn't happen with proper logic)
+			controlPanel.setGuessResult("WRONG! " + player.getName() + " is eliminated!");
+			JOptionPane.showMessageDialog(this, 
+				player.getName() + " has made an incorrect accusation and is eliminated!",
+				"Incorrect Accusation", 
+				JOptionPane.WARNING_MESSAGE);
 		}
 	}
 	
+	// "Person, Weapon, Room" for the guess display
+	private static String describe(Solution solution) {
+		return solution.getPerson().getName() + ", " +
+			solution.getWeapon().getName() + ", " +
+			solution.getRoom().getName();
+	}
+	
+	// "Person with the Weapon in the Room" for the end of game messages
+	private static String describeCrime(Solution solution) {
+		return solution.getPerson().getName() + " with the " +
+			solution.getWeapon().getName() + " in the " +
+			solution.getRoom().getName();
+	}
+	
 	/**
 	 * Handle the Next button click
 	 * Flowchart: Next Player Pressed -> current human player finished? 
@@ -256,7 +300,7 @@ public class ClueGame extends JFrame {
 	 */
 	private void handleNextButton() {
 		// Don't allow next if game is over
-		if (gameOver) {
+		if (engine.isGameOver()) {
 			JOptionPane.showMessageDialog(this, 
 				"The game is over!",
 				"Game Over", 
@@ -265,8 +309,7 @@ public class ClueGame extends JFrame {
 		}
 		
 		// Check: current human player finished?
-		Player currentPlayer = board.getPlayers().get(currentPlayerIndex);
-		if (currentPlayer instanceof HumanPlayer && !hasMovedThisTurn) {
+		if (!engine.canAdvance()) {
 			// NO: Error Message
 			JOptionPane.showMessageDialog(this, 
 				"You must complete your turn before pressing Next!",
@@ -275,15 +318,10 @@ public class ClueGame extends JFrame {
 			return;
 		}
 		
-		// YES: Clear targets from previous turn
+		// YES: Clear targets from previous turn, then the engine starts the next turn
 		board.clearTargets();
 		board.repaint();
-		
-		// Update current player (advance to next)
-		currentPlayerIndex = (currentPlayerIndex + 1) % board.getPlayers().size();
-		
-		// Roll dice, Calc Targets, etc. handled in startTurn()
-		startTurn();
+		engine.advance();
 	}
 	
 	/**
@@ -292,7 +330,7 @@ public class ClueGame extends JFrame {
 	 */
 	private void handleAccusationButton() {
 		// Don't allow if game is over
-		if (gameOver) {
+		if (engine.isGameOver()) {
 			JOptionPane.showMessageDialog(this, 
 				"The game is over!",
 				"Game Over", 
@@ -300,11 +338,9 @@ public class ClueGame extends JFrame {
 			return;
 		}
 		
-		Player currentPlayer = board.getPlayers().get(currentPlayerIndex);
-		
 		// Only human player can make accusations via button, on their turn, BEFORE moving
 		// Rubric: "Human is allowed to make accusation at beginning of their turn"
-		if (!(currentPlayer instanceof HumanPlayer) || !humanTurnInProgress) {
+		if (!engine.isHumanTurn()) {
 			JOptionPane.showMessageDialog(this, 
 				"You can only make an accusation on your turn!",
 				"Invalid Action", 
@@ -313,7 +349,7 @@ public class ClueGame extends JFrame {
 		}
 		
 		// Must be at BEGINNING of turn (before moving)
-		if (hasMovedThisTurn) {
+		if (!engine.canHumanAccuse()) {
 			JOptionPane.showMessageDialog(this, 
 				"You can only make an accusation at the BEGINNING of your turn (before moving)!",
 				"Invalid Action", 
@@ -338,47 +374,8 @@ public class ClueGame extends JFrame {
 			return; // Cancelled - no penalty
 		}
 		
-		// Check the accusation
-		boolean correct = board.checkAccusation(accusation);
-		
-		// Display the accusation
-		String accusationText = accusation.getPerson().getName() + ", " +
-			accusation.getWeapon().getName() + ", " +
-			accusation.getRoom().getName();
-		controlPanel.setGuess("Accusation: " + accusationText);
-		
-		if (correct) {
-			// Player wins!
-			controlPanel.setGuessResult("CORRECT! You win!");
-			gameOver = true;
-			JOptionPane.showMessageDialog(this, 
-				"Congratulations! Your accusation was correct!\n\n" +
-				"The answer was:\n" +
-				accusation.getPerson().getName() + " with the " +
-				accusation.getWeapon().getName() + " in the " +
-				accusation.getRoom().getName() + "\n\n" +
-				"You WIN!",
-				"You Win!", 
-				JOptionPane.INFORMATION_MESSAGE);
-		} else {
-			// Player loses!
-			Solution answer = board.getTheAnswer();
-			controlPanel.setGuessResult("WRONG! You lose!");
-			gameOver = true;
-			JOptionPane.showMessageDialog(this, 
-				"Sorry! Your accusation was incorrect!\n\n" +
-				"You accused:\n" +
-				accusation.getPerson().getName() + " with the " +
-				accusation.getWeapon().getName() + " in the " +
-				accusation.getRoom().getName() + "\n\n" +
-				"The correct answer was:\n" +
-				answer.getPerson().getName() + " with the " +
-				answer.getWeapon().getName() + " in the " +
-				answer.getRoom().getName() + "\n\n" +
-				"You LOSE!",
-				"You Lose!", 
-				JOptionPane.ERROR_MESSAGE);
-		}
+		// The engine checks it and reports the result
+		engine.accuse(engine.getCurrentPlayer(), accusation);
 	}
 	
 	/**
@@ -393,7 +390,7 @@ public class ClueGame extends JFrame {
 	 */
 	private void handleBoardClick(MouseEvent e) {
 		// Is it Human Player Turn?
-		if (!humanTurnInProgress || hasMovedThisTurn) {
+		if (!engine.isAwaitingHumanMove()) {
 			// NO: End (ignore click)
 			return;
 		}
@@ -409,7 +406,8 @@ public class ClueGame extends JFrame {
 			return;
 		}
 		
-		BoardCell clickedCell = board.getCell(row, col);
+		// The engine plays on the topology's cells
+		BoardCell clickedCell = board.getTopology().getCell(row, col);
 		
 		// Check if clicked cell is a valid target
 		// For room cells, check if the room's center is a target (allows clicking anywhere in room)
@@ -425,19 +423,14 @@ public class ClueGame extends JFrame {
 		}
 		
 		// YES: Move Player to the target cell (room center if in room, or clicked cell if walkway)
-		humanPlayer.setPosition(targetCell.getRow(), targetCell.getCol());
-		hasMovedThisTurn = true;
-		
-		// Clear targets after move and repaint
-		board.clearTargets();
-		board.repaint();
+		engine.moveHuman(targetCell);
 		
 		// In Room?
 		if (targetCell.isRoomCenter()) {
 			// YES: Handle Suggestion
 			Room room = board.getRoom(targetCell);
 			handleHumanSuggestion(room);
-			// Update Result (done inside handleHumanSuggestion)
+			// Update Result (done in suggestionAnswered)
 		}
 		// NO or after suggestion: End (turn complete, waiting for Next button)
 	}
@@ -449,9 +442,7 @@ public class ClueGame extends JFrame {
 	 * Returns null if not a valid target
 	 */
 	private BoardCell findTargetCell(BoardCell clickedCell) {
-		if (currentTargets == null) {
-			return null;
-		}
+		Set<BoardCell> currentTargets = engine.getCurrentTargets();
 		
 		// Direct match - clicked on a target cell
 		if (currentTargets.contains(clickedCell)) {
@@ -472,125 +463,12 @@ public class ClueGame extends JFrame {
 		return null;  // Not a valid target
 	}
 	
-	/**
-	 * Process a computer player's turn
-	 * Flowchart: Do Move -> Make Suggestion? (if in room)
-	 */
-	private void processComputerTurn() {
-		ComputerPlayer computer = (ComputerPlayer) board.getPlayers().get(currentPlayerIndex);
-		
-		// Do Move - Select a target and move
-		BoardCell target = computer.selectTargets(currentTargets);
-		if (target != null) {
-			computer.setPosition(target.getRow(), target.getCol());
-			
-			// Clear targets after move and repaint
-			board.clearTargets();
-			board.repaint();
-			
-			// Make Suggestion? - If in a room, make a suggestion
-			if (target.isRoomCenter()) {
-				Room room = board.getRoom(target);
-				Card roomCard = new Card(room.getName(), CardType.ROOM);
-				Solution suggestion = computer.createSuggestion(roomCard);
-				
-				// Mark this room as "seen" so computer doesn't keep returning
-				computer.updateSeen(roomCard);
-				
-				// Display the suggestion in control panel
-				String suggestionText = suggestion.getPerson().getName() + ", " + 
-					suggestion.getWeapon().getName() + ", " + 
-					suggestion.getRoom().getName();
-				controlPanel.setGuess(suggestionText);
-				
-				// Move the accused person to this room
-				board.moveAccusedPlayerToRoom(suggestion, room);
-				board.repaint();
-				
-				// Handle the suggestion and update result
-				Board.SuggestionResult result = board.handleSuggestionWithOwner(computer, suggestion);
-				if (result != null) {
-					// Suggestion was disproven
-					controlPanel.setGuessResult("Disproven by " + result.getPlayer().getName());
-					computer.updateSeen(result.getCard());
-					computer.clearAccusation(); // Clear any pending accusation since it was disproved
-					
-					// If human player showed the card, update their seen list
-					if (result.getPlayer() instanceof HumanPlayer) {
-						updateHumanSeenCard(result.getCard(), computer);
-					}
-				} else {
-					// No one could disprove - computer should make accusation next turn
-					// But only if computer doesn't have the room card in their hand
-					controlPanel.setGuessResult("No one could disprove!");
-					
-					if (!computer.hasCard(roomCard)) {
-						// Computer should accuse next turn
-						computer.setShouldMakeAccusation(true, suggestion);
-					}
-				}
-			}
-		} else {
-			// No valid targets - just clear and repaint
-			board.clearTargets();
-			board.repaint();
-		}
-		// End - computer turn complete
-	}
-	
-	/**
-	 * Handle computer player making an accusation
-	 * @param computer The computer player making the accusation
-	 */
-	private void handleComputerAccusation(ComputerPlayer computer) {
-		Solution accusation = computer.getPendingAccusation();
-		
-		if (accusation == null) {
-			computer.clearAccusation();
-			return;
-		}
-		
-		// Display the accusation
-		String accusationText = accusation.getPerson().getName() + ", " +
-			accusation.getWeapon().getName() + ", " +
-			accusation.getRoom().getName();
-		controlPanel.setGuess("Accusation: " + accusationText);
-		
-		// Check the accusation
-		boolean correct = board.checkAccusation(accusation);
-		
-		if (correct) {
-			// Computer wins!
-			controlPanel.setGuessResult("CORRECT! " + computer.getName() + " wins!");
-			gameOver = true;
-			JOptionPane.showMessageDialog(this, 
-				computer.getName() + " has made a correct accusation!\n\n" +
-				"The answer was:\n" +
-				accusation.getPerson().getName() + " with the " +
-				accusation.getWeapon().getName() + " in the " +
-				accusation.getRoom().getName() + "\n\n" +
-				computer.getName() + " WINS!\nYou lose!",
-				"Game Over - Computer Wins!", 
-				JOptionPane.INFORMATION_MESSAGE);
-		} else {
-			// Computer made wrong accusation (shouldn't happen with proper logic)
-			// But handle it anyway - computer is eliminated
-			controlPanel.setGuessResult("WRONG! " + computer.getName() + " is eliminated!");
-			JOptionPane.showMessageDialog(this, 
-				computer.getName() + " has made an incorrect accusation and is eliminated!",
-				"Incorrect Accusation", 
-				JOptionPane.WARNING_MESSAGE);
-		}
-		
-		computer.clearAccusation();
-	}
-	
 	/**
 	 * Handle human player making a suggestion
 	 */
 	private void handleHumanSuggestion(Room room) {
 		// Create room card
-		Card roomCard = new Card(room.getName(), CardType.ROOM);
+		Card roomCard = board.getTopology().getCard(room.getName(), CardType.ROOM);
 		
 		// Create and show suggestion dialog
 		SuggestionDialog dialog = new SuggestionDialog(
@@ -605,47 +483,18 @@ public class ClueGame extends JFrame {
 		Solution suggestion = dialog.getSuggestion();
 		
 		if (suggestion != null) {
-			// Display the suggestion
-			String suggestionText = suggestion.getPerson().getName() + ", " + 
-				suggestion.getWeapon().getName() + ", " + 
-				suggestion.getRoom().getName();
-			controlPanel.setGuess(suggestionText);
-			
-			// Move the accused person to this room
-			board.moveAccusedPlayerToRoom(suggestion, room);
-			board.repaint();
-			
-			// Handle the suggestion
-			Board.SuggestionResult result = board.handleSuggestionWithOwner(humanPlayer, suggestion);
-			if (result != null) {
-				// Show card to human - display the actual card
-				controlPanel.setGuessResult(result.getCard().getName() + " (from " + result.getPlayer().getName() + ")");
-				
-				// Update human player's seen cards
-				updateHumanSeenCard(result.getCard(), result.getPlayer());
-				
-				// Show which card was revealed
-				JOptionPane.showMessageDialog(this, 
-					result.getPlayer().getName() + " shows you: " + result.getCard().getName(),
-					"Suggestion Disproven", 
-					JOptionPane.INFORMATION_MESSAGE);
-			} else {
-				controlPanel.setGuessResult("No new clue");
-				JOptionPane.showMessageDialog(this, 
-					"No one could disprove your suggestion!",
-					"Suggestion Result", 
-					JOptionPane.INFORMATION_MESSAGE);
-			}
+			// The engine moves the accused person here and asks the other players in turn
+			engine.makeSuggestion(humanPlayer, suggestion, room);
 		}
 	}
 	
 	/**
 	 * Main method - entry point for the application
-	 * @param args Command line arguments (not used)
+	 * @param args Optional seed, to replay a game exactly
 	 */
 	public static void main(String[] args) {
 		// Create and display the game
-		ClueGame game = new ClueGame();
+		ClueGame game = args.length > 0 ? new ClueGame(new GameRandom(Long.parseLong(args[0]))) : new ClueGame();
 		game.setVisible(true);
 	}
 }
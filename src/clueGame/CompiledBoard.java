@@ -0,0 +1,255 @@
+package clueGame;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Binary form of a loaded board: the setup entries, every cell and the adjacency graph.
+// The header records the setup file name and the length and modification time of both
+// source files, so a compiled board is only used while its sources are unchanged.
+// The whole file is read in one sequential read and decoded from memory.
+final class CompiledBoard {
+	static final String SUFFIX = ".compiled";
+	private static final int MAGIC = 0x434C5545; // "CLUE"
+	private static final int VERSION = 1;
+	private static final int DOOR_MASK = 0x07;
+	private static final int LABEL_FLAG = 0x08;
+	private static final int CENTER_FLAG = 0x10;
+	private static final int CELL_BYTES = 5;
+
+	private final Map<Character, Room> roomMap = new HashMap<>();
+	private final List<Player> players = new ArrayList<>();
+	private final List<String> personNames = new ArrayList<>();
+	private final List<String> weaponNames = new ArrayList<>();
+	private BoardCell[][] grid;
+	private int numColumns;
+	private BoardGraph graph;
+
+	private CompiledBoard() {
+	}
+
+	// The compiled file that belongs to a layout file
+	static File fileFor(String layoutFile) {
+		return new File(layoutFile + SUFFIX);
+	}
+
+	// Write a board that was loaded from the given source files
+	static void write(File target, String layoutFile, String setupFile, Map<Character, Room> roomMap,
+			List<Player> players, List<String> weaponNames, BoardCell[][] grid, BoardGraph graph) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
+			writeHeader(out, layoutFile, setupFile);
+
+			out.writeInt(roomMap.size());
+			for (Map.Entry<Character, Room> entry : roomMap.entrySet()) {
+				out.writeChar(entry.getKey());
+				out.writeUTF(entry.getValue().getName());
+				out.writeUTF(entry.getValue().getType());
+			}
+			out.writeInt(players.size());
+			for (Player player : players) {
+				out.writeUTF(player.getName());
+				out.writeUTF(player.getColorName());
+				out.writeInt(player.getRow());
+				out.writeInt(player.getCol());
+				out.writeBoolean(player instanceof HumanPlayer);
+			}
+			out.writeInt(weaponNames.size());
+			for (String weapon : weaponNames) {
+				out.writeUTF(weapon);
+			}
+
+			int numRows = grid.length;
+			int numColumns = numRows == 0 ? 0 : grid[0].length;
+			out.writeInt(numRows);
+			out.writeInt(numColumns);
+			for (BoardCell[] row : grid) {
+				for (BoardCell cell : row) {
+					int flags = cell.getDoorDirection().ordinal();
+					if (cell.isLabel()) {
+						flags |= LABEL_FLAG;
+					}
+					if (cell.isRoomCenter()) {
+						flags |= CENTER_FLAG;
+					}
+					out.writeChar(cell.getInitial());
+					out.writeByte(flags);
+					out.writeChar(cell.getSecretPassage());
+				}
+			}
+
+			int numCells = graph.getNumCells();
+			out.writeInt(graph.getNumEdges());
+			for (int id = 0; id < numCells; id++) {
+				out.writeInt(graph.getNeighborStart(id));
+			}
+			out.writeInt(graph.getNumEdges());
+			for (int i = 0; i < graph.getNumEdges(); i++) {
+				out.writeInt(graph.getNeighbor(i));
+			}
+		}
+	}
+
+	private static void writeHeader(DataOutputStream out, String layoutFile, String setupFile) throws IOException {
+		File layout = new File(layoutFile);
+		File setup = new File(setupFile);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeUTF(setupFile);
+		out.writeLong(layout.length());
+		out.writeLong(layout.lastModified());
+		out.writeLong(setup.length());
+		out.writeLong(setup.lastModified());
+	}
+
+	// Check whether the compiled file exists and was written from the current source files
+	static boolean isCurrent(File compiled, String layoutFile, String setupFile) {
+		if (!compiled.isFile()) {
+			return false;
+		}
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(compiled.toPath()))) {
+			return readHeader(in, layoutFile, setupFile);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	// Read a compiled board, or return null if it is missing or its sources have changed
+	static CompiledBoard read(File compiled, String layoutFile, String setupFile) throws IOException {
+		if (!compiled.isFile()) {
+			return null;
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(compiled.toPath())));
+		if (!readHeader(in, layoutFile, setupFile)) {
+			return null;
+		}
+		CompiledBoard board = new CompiledBoard();
+		board.readBody(in);
+		return board;
+	}
+
+	private static boolean readHeader(DataInputStream in, String layoutFile, String setupFile) throws IOException {
+		File layout = new File(layoutFile);
+		File setup = new File(setupFile);
+		return in.readInt() == MAGIC && in.readInt() == VERSION && in.readUTF().equals(setupFile)
+				&& layout.isFile() && in.readLong() == layout.length() && in.readLong() == layout.lastModified()
+				&& setup.isFile() && in.readLong() == setup.length() && in.readLong() == setup.lastModified();
+	}
+
+	private void readBody(DataInputStream in) throws IOException {
+		int numRooms = readCount(in);
+		for (int i = 0; i < numRooms; i++) {
+			char initial = in.readChar();
+			String name = in.readUTF();
+			roomMap.put(initial, new Room(name, in.readUTF()));
+		}
+		int numPlayers = readCount(in);
+		for (int i = 0; i < numPlayers; i++) {
+			String name = in.readUTF();
+			String color = in.readUTF();
+			int row = in.readInt();
+			int col = in.readInt();
+			players.add(in.readBoolean() ? new HumanPlayer(name, color, row, col) : new ComputerPlayer(name, color, row, col));
+			personNames.add(name);
+		}
+		int numWeapons = readCount(in);
+		for (int i = 0; i < numWeapons; i++) {
+			weaponNames.add(in.readUTF());
+		}
+
+		int numRows = readCount(in);
+		numColumns = readCount(in);
+		if ((long) numRows * numColumns * CELL_BYTES > in.available()) {
+			throw new IOException("Compiled board is truncated");
+		}
+		DoorDirection[] directions = DoorDirection.values();
+		BoardCell[] cells = new BoardCell[numRows * numColumns];
+		grid = new BoardCell[numRows][numColumns];
+		for (int row = 0; row < numRows; row++) {
+			for (int col = 0; col < numColumns; col++) {
+				BoardCell cell = new BoardCell(row, col, in.readChar());
+				int flags = in.readUnsignedByte();
+				int door = flags & DOOR_MASK;
+				if (door >= directions.length) {
+					throw new IOException("Bad door direction at row " + row + ", column " + col);
+				}
+				cell.setDoorDirection(directions[door]);
+				cell.setLabel((flags & LABEL_FLAG) != 0);
+				cell.setRoomCenter((flags & CENTER_FLAG) != 0);
+				cell.setSecretPassage(in.readChar());
+				cell.setId(row * numColumns + col);
+				grid[row][col] = cell;
+				cells[cell.getId()] = cell;
+			}
+		}
+
+		// Offsets must be non-decreasing and every neighbor must be a cell
+		int numEdges = readCount(in);
+		int[] offsets = new int[cells.length + 1];
+		for (int id = 0; id < cells.length; id++) {
+			offsets[id] = in.readInt();
+			if (offsets[id] < (id == 0 ? 0 : offsets[id - 1]) || offsets[id] > numEdges) {
+				throw new IOException("Bad adjacency offset for cell " + id);
+			}
+		}
+		offsets[cells.length] = readCount(in);
+		if (offsets[cells.length] != numEdges) {
+			throw new IOException("Adjacency edge counts do not match");
+		}
+		if ((long) numEdges * Integer.BYTES > in.available()) {
+			throw new IOException("Compiled board is truncated");
+		}
+		int[] neighbors = new int[numEdges];
+		for (int i = 0; i < numEdges; i++) {
+			neighbors[i] = in.readInt();
+			if (neighbors[i] < 0 || neighbors[i] >= cells.length) {
+				throw new IOException("Bad neighbor id " + neighbors[i]);
+			}
+		}
+		graph = BoardGraph.fromArrays(cells, offsets, neighbors);
+	}
+
+	private static int readCount(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		if (count < 0) {
+			throw new IOException("Negative count in compiled board");
+		}
+		return count;
+	}
+
+	Map<Character, Room> getRoomMap() {
+		return roomMap;
+	}
+
+	List<Player> getPlayers() {
+		return players;
+	}
+
+	List<String> getPersonNames() {
+		return personNames;
+	}
+
+	List<String> getWeaponNames() {
+		return weaponNames;
+	}
+
+	BoardCell[][] getGrid() {
+		return grid;
+	}
+
+	int getNumColumns() {
+		return numColumns;
+	}
+
+	BoardGraph getGraph() {
+		return graph;
+	}
+}
@@ -3,11 +3,15 @@ package clueGame;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
 import java.util.Set;
 
 public class ComputerPlayer extends Player {
     private Set<Card> seenCards;
+    // Seen cards that fit in a mask, mirrored as one, used while every seen card fits in a mask
+    // of one registry
+    private long seenMask;
+    private boolean seenMasked = true;
+    private CardRegistry seenRegistry;
     
     // Flag indicating the computer should make an accusation (suggestion wasn't disproved)
     private boolean shouldMakeAccusation;
@@ -15,6 +19,12 @@ public class ComputerPlayer extends Player {
     private Solution pendingAccusation;
     // Flag to track if player was moved to room by suggestion (can stay next turn)
     private boolean wasMovedBySuggestion;
+    // Optional planner; without one, targets are chosen at random as before
+    private MovementPlanner planner;
+    // Topology of this player's game; without one, names and rooms come from the shared board
+    private BoardTopology topology;
+    // Where the cards are, worked out from the deal on; without it only seen cards are kept
+    private Deduction deduction;
     
     public ComputerPlayer(String name, String colorStr, int row, int col) {
         super(name, colorStr, row, col);
@@ -27,6 +37,49 @@ public class ComputerPlayer extends Player {
     // Add card to seen list
     public void updateSeen(Card card) {
         seenCards.add(card);
+        if (seenRegistry == null) {
+            seenRegistry = card.getRegistry();
+        }
+        if (!card.fitsInMask() || card.getRegistry() != seenRegistry) {
+            seenMasked = false;
+        } else {
+            seenMask |= card.getMask();
+        }
+        if (deduction != null) {
+            deduction.cardSeen(card);
+        }
+    }
+    
+    // Learn from a suggestion answered in this player's game, whoever made it
+    public void observeSuggestion(Player suggester, Solution suggestion, SuggestionResult result) {
+        if (deduction == null) {
+            return;
+        }
+        int disproverSeat = result != null ? result.getPlayer().getSeat() : -1;
+        Card shownCard = result != null && suggester == this ? result.getCard() : null;
+        deduction.suggestionAnswered(suggester.getSeat(), suggestion, disproverSeat, shownCard);
+    }
+    
+    // Work out where the cards are from now on, starting from the given knowledge
+    public void setDeduction(Deduction deduction) {
+        this.deduction = deduction;
+    }
+    
+    public Deduction getDeduction() {
+        return deduction;
+    }
+    
+    // Check if a card has been seen, by id when the card and every seen card fit in a mask of one registry
+    public boolean hasSeen(Card card) {
+        if (seenMasked && card.fitsInMask() && card.getRegistry() == seenRegistry) {
+            return (seenMask & card.getMask()) != 0;
+        }
+        return seenCards.contains(card);
+    }
+    
+    // Mask of the seen cards that fit in a mask of the first seen card's registry
+    public long getSeenMask() {
+        return seenMask;
     }
     
     // Get seen cards for testing
@@ -36,17 +89,25 @@ public class ComputerPlayer extends Player {
     
     // Create suggestion from current room and unseen cards
     public Solution createSuggestion(Card currentRoom) {
-        Board board = Board.getInstance();
+        // With deductions, ask about cards that may still be in the solution
+        if (deduction != null) {
+            List<Card> persons = deduction.getSolutionCandidates(CardType.PERSON);
+            List<Card> weapons = deduction.getSolutionCandidates(CardType.WEAPON);
+            if (!persons.isEmpty() && !weapons.isEmpty()) {
+                return new Solution(persons.get(random.nextInt(persons.size())),
+                        weapons.get(random.nextInt(weapons.size())), currentRoom);
+            }
+        }
         
         // Get all available cards
-        List<String> allPersons = board.getPersonNames();
-        List<String> allWeapons = board.getWeaponNames();
+        List<String> allPersons = topology != null ? topology.getPersonNames() : Board.getInstance().getPersonNames();
+        List<String> allWeapons = topology != null ? topology.getWeaponNames() : Board.getInstance().getWeaponNames();
         
         // Find unseen persons (not in hand, not in seen list)
         List<Card> unseenPersons = new ArrayList<>();
         for (String personName : allPersons) {
-            Card personCard = new Card(personName, CardType.PERSON);
-            if (!hand.contains(personCard) && !seenCards.contains(personCard)) {
+            Card personCard = getCard(personName, CardType.PERSON);
+            if (!hasInHand(personCard) && !hasSeen(personCard)) {
                 unseenPersons.add(personCard);
             }
         }
@@ -54,8 +115,8 @@ public class ComputerPlayer extends Player {
         // Find unseen weapons (not in hand, not in seen list)
         List<Card> unseenWeapons = new ArrayList<>();
         for (String weaponName : allWeapons) {
-            Card weaponCard = new Card(weaponName, CardType.WEAPON);
-            if (!hand.contains(weaponCard) && !seenCards.contains(weaponCard)) {
+            Card weaponCard = getCard(weaponName, CardType.WEAPON);
+            if (!hasInHand(weaponCard) && !hasSeen(weaponCard)) {
                 unseenWeapons.add(weaponCard);
             }
         }
@@ -63,15 +124,13 @@ public class ComputerPlayer extends Player {
         // Select random person from unseen
         Card selectedPerson = null;
         if (!unseenPersons.isEmpty()) {
-            Random rand = new Random();
-            selectedPerson = unseenPersons.get(rand.nextInt(unseenPersons.size()));
+            selectedPerson = unseenPersons.get(random.nextInt(unseenPersons.size()));
         }
         
         // Select random weapon from unseen
         Card selectedWeapon = null;
         if (!unseenWeapons.isEmpty()) {
-            Random rand = new Random();
-            selectedWeapon = unseenWeapons.get(rand.nextInt(unseenWeapons.size()));
+            selectedWeapon = unseenWeapons.get(random.nextInt(unseenWeapons.size()));
         }
         
         return new Solution(selectedPerson, selectedWeapon, currentRoom);
@@ -83,17 +142,28 @@ public class ComputerPlayer extends Player {
             return null;
         }
         
-        Board board = Board.getInstance();
+        // With a planner, head for the unseen room with the fewest expected turns;
+        // once every room is known, any room will do for the next suggestion
+        if (planner != null) {
+            BoardCell planned = planner.chooseTarget(targets, this::isUnseenRoom);
+            if (planned == null) {
+                planned = planner.chooseTarget(targets, room -> room.getCenterCell() != null);
+            }
+            if (planned != null) {
+                return planned;
+            }
+        }
+        
         List<BoardCell> unseenRooms = new ArrayList<>();
         
         // Find all unseen room centers in targets
         for (BoardCell cell : targets) {
             if (cell.isRoomCenter()) {
-                Room room = board.getRoom(cell);
-                Card roomCard = new Card(room.getName(), CardType.ROOM);
+                Room room = topology != null ? topology.getRoom(cell) : Board.getInstance().getRoom(cell);
+                Card roomCard = getCard(room.getName(), CardType.ROOM);
                 
                 // Check if room has not been seen
-                if (!seenCards.contains(roomCard)) {
+                if (!hasSeen(roomCard)) {
                     unseenRooms.add(cell);
                 }
             }
@@ -101,14 +171,50 @@ public class ComputerPlayer extends Player {
         
         // If there are unseen rooms, select randomly from them
         if (!unseenRooms.isEmpty()) {
-            Random rand = new Random();
-            return unseenRooms.get(rand.nextInt(unseenRooms.size()));
+            return unseenRooms.get(random.nextInt(unseenRooms.size()));
         }
         
         // Otherwise, select randomly from all targets
-        Random rand = new Random();
         List<BoardCell> targetList = new ArrayList<>(targets);
-        return targetList.get(rand.nextInt(targetList.size()));
+        return targetList.get(random.nextInt(targetList.size()));
+    }
+    
+    // Check that the room's card is neither in hand nor seen. With deductions, a room that
+    // may be the solution's; once that room is known, rooms in hand are as good to ask from,
+    // as nobody else can show their card.
+    private boolean isUnseenRoom(Room room) {
+        if (room.getCenterCell() == null) {
+            return false;
+        }
+        Card roomCard = getCard(room.getName(), CardType.ROOM);
+        if (deduction != null) {
+            return deduction.isSolutionCandidate(roomCard)
+                    || (hasInHand(roomCard) && deduction.getSolutionCandidates(CardType.ROOM).size() == 1);
+        }
+        return !hasInHand(roomCard) && !hasSeen(roomCard);
+    }
+    
+    // The game's own card, with its id, so suggestions made from it can be disproved by mask
+    private Card getCard(String name, CardType type) {
+        BoardTopology cards = topology != null ? topology : Board.getInstance().getTopology();
+        return cards != null ? cards.getCard(name, type) : new Card(name, type);
+    }
+    
+    public void setTopology(BoardTopology topology) {
+        this.topology = topology;
+    }
+    
+    public BoardTopology getTopology() {
+        return topology;
+    }
+    
+    // Use the planner to choose targets, or null to choose at random
+    public void setPlanner(MovementPlanner planner) {
+        this.planner = planner;
+    }
+    
+    public MovementPlanner getPlanner() {
+        return planner;
     }
     
     // Set flag to indicate computer should make an accusation
@@ -118,14 +224,17 @@ public class ComputerPlayer extends Player {
         this.pendingAccusation = suggestion;
     }
     
-    // Check if computer should make accusation at the start of turn
+    // Check if computer should make accusation at the start of turn: a suggestion went
+    // undisproved, or the solution has been deduced
     public boolean shouldMakeAccusation() {
-        return shouldMakeAccusation && pendingAccusation != null;
+        return (shouldMakeAccusation && pendingAccusation != null)
+                || (deduction != null && deduction.getSolution() != null);
     }
     
-    // Get the pending accusation (the suggestion that wasn't disproved)
+    // Get the pending accusation: the deduced solution, or else the suggestion that wasn't disproved
     public Solution getPendingAccusation() {
-        return pendingAccusation;
+        Solution deduced = deduction != null ? deduction.getSolution() : null;
+        return deduced != null ? deduced : pendingAccusation;
     }
     
     // Clear accusation state (after making accusation or if disproved)
@@ -136,7 +245,7 @@ public class ComputerPlayer extends Player {
     
     // Check if player has a specific card in hand
     public boolean hasCard(Card card) {
-        return hand.contains(card);
+        return hasInHand(card);
     }
     
     // Track if player was moved to current room by suggestion
@@ -0,0 +1,219 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// What one player knows about where every card is: for each seat, and for the solution, the
+// cards it surely holds and the cards it surely does not, as masks of card ids. Facts come
+// from the player's own hand, from cards shown to it and from every suggestion answered in the
+// game. After each fact the rules below are applied until nothing changes:
+//   - a card has exactly one place, so a held card is in no other place, and a card that can
+//     be in only one place is there;
+//   - a seat holds exactly as many cards as it was dealt, and the solution one of each type;
+//   - a player who disproved a suggestion without showing us the card holds one of its cards,
+//     so once only one of them is still possible for that player, it holds that one.
+// The registry must fit in a card mask, as a deck of up to Card.MAX_IDS cards does. Cards from
+// anywhere else are matched to this registry's by name.
+public final class Deduction {
+	// Location of a card that is not known yet
+	public static final int UNKNOWN = -1;
+
+	private final CardRegistry cards;
+	private final int seatCount;
+	private final int solution;
+	private final int[] handSizes;
+	private final long allCards;
+	private final long[] typeMasks = new long[CardType.values().length];
+	// Indexed by seat, with the solution after the last seat
+	private final long[] has;
+	private final long[] hasNot;
+	// Suggestions disproved out of our sight
+	private final List<Clause> clauses = new ArrayList<>();
+
+	// Knowledge of the player at seat, who holds the cards of handMask, in a game whose seats
+	// were dealt the given numbers of cards
+	public Deduction(CardRegistry cards, int[] handSizes, int seat, long handMask) {
+		this.cards = cards;
+		this.seatCount = handSizes.length;
+		this.solution = seatCount;
+		this.handSizes = handSizes.clone();
+		this.allCards = cards.size() == Long.SIZE ? -1L : (1L << cards.size()) - 1;
+		for (Card card : cards.getCards()) {
+			typeMasks[card.getType().ordinal()] |= card.getMask();
+		}
+		this.has = new long[seatCount + 1];
+		this.hasNot = new long[seatCount + 1];
+		has[seat] = handMask;
+		hasNot[seat] = allCards & ~handMask;
+		propagate();
+	}
+
+	// The seat showed us the card
+	public void cardShown(int seat, Card card) {
+		has[seat] |= cards.getMask(card);
+		propagate();
+	}
+
+	// We saw the card in someone's hand, without knowing whose; it is not in the solution
+	public void cardSeen(Card card) {
+		hasNot[solution] |= cards.getMask(card);
+		propagate();
+	}
+
+	// A suggestion was answered. Everyone clockwise from the suggester up to the disprover
+	// could not disprove it; disproverSeat is -1 if nobody could, and shownCard is the card
+	// the disprover showed, or null if we did not see it.
+	public void suggestionAnswered(int suggesterSeat, Solution suggestion, int disproverSeat, Card shownCard) {
+		long mask = suggestion.getCardMask();
+		if (suggestion.getCardRegistry() != cards) {
+			mask = cards.getMask(suggestion.getPerson()) | cards.getMask(suggestion.getWeapon())
+					| cards.getMask(suggestion.getRoom());
+		}
+		for (int i = 1; i < seatCount; i++) {
+			int seat = (suggesterSeat + i) % seatCount;
+			if (seat == disproverSeat) {
+				break;
+			}
+			hasNot[seat] |= mask;
+		}
+		if (disproverSeat >= 0) {
+			if (shownCard != null) {
+				has[disproverSeat] |= cards.getMask(shownCard);
+			} else {
+				clauses.add(new Clause(disproverSeat, mask));
+			}
+		}
+		propagate();
+	}
+
+	// Apply the rules until no mask changes
+	private void propagate() {
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+
+			// A held card is nowhere else
+			long held = 0;
+			for (long mask : has) {
+				held |= mask;
+			}
+			for (int place = 0; place <= seatCount; place++) {
+				changed |= addHasNot(place, held & ~has[place]);
+			}
+
+			// A card possible in only one place is there
+			long once = 0;
+			long twice = 0;
+			for (int place = 0; place <= seatCount; place++) {
+				long possible = allCards & ~hasNot[place];
+				twice |= once & possible;
+				once |= possible;
+			}
+			long single = once & ~twice;
+			for (int place = 0; place <= seatCount; place++) {
+				changed |= addHas(place, single & ~hasNot[place]);
+			}
+
+			// Hands are full once they have their size, and hold all they still may at that size
+			for (int seat = 0; seat < seatCount; seat++) {
+				long possible = allCards & ~hasNot[seat];
+				if (Long.bitCount(has[seat]) == handSizes[seat]) {
+					changed |= addHasNot(seat, allCards & ~has[seat]);
+				} else if (Long.bitCount(possible) == handSizes[seat]) {
+					changed |= addHas(seat, possible);
+				}
+			}
+
+			// The solution holds one card of each type
+			for (long typeMask : typeMasks) {
+				long found = has[solution] & typeMask;
+				long possible = typeMask & ~hasNot[solution];
+				if (found != 0) {
+					changed |= addHasNot(solution, typeMask & ~found);
+				} else if (Long.bitCount(possible) == 1) {
+					changed |= addHas(solution, possible);
+				}
+			}
+
+			// A disprover holds one of the cards it could have shown
+			for (int i = clauses.size() - 1; i >= 0; i--) {
+				Clause clause = clauses.get(i);
+				long possible = clause.mask & ~hasNot[clause.seat];
+				if ((has[clause.seat] & clause.mask) != 0 || possible == 0) {
+					clauses.remove(i);
+				} else if (Long.bitCount(possible) == 1) {
+					addHas(clause.seat, possible);
+					clauses.remove(i);
+					changed = true;
+				}
+			}
+		}
+	}
+
+	private boolean addHas(int place, long mask) {
+		long added = mask & ~has[place];
+		has[place] |= added;
+		return added != 0;
+	}
+
+	private boolean addHasNot(int place, long mask) {
+		long added = mask & ~hasNot[place];
+		hasNot[place] |= added;
+		return added != 0;
+	}
+
+	// Seat holding the card, getSolutionPlace() for the solution, or UNKNOWN
+	public int getOwner(Card card) {
+		long bit = cards.getMask(card);
+		for (int place = 0; place <= seatCount; place++) {
+			if ((has[place] & bit) != 0) {
+				return place;
+			}
+		}
+		return UNKNOWN;
+	}
+
+	// Place number of the solution in getOwner, after the last seat
+	public int getSolutionPlace() {
+		return solution;
+	}
+
+	// Check the card may still be in the solution
+	public boolean isSolutionCandidate(Card card) {
+		return (hasNot[solution] & cards.getMask(card)) == 0;
+	}
+
+	// Cards of the type that may still be in the solution, in id order
+	public List<Card> getSolutionCandidates(CardType type) {
+		return cards.getCards(typeMasks[type.ordinal()] & ~hasNot[solution]);
+	}
+
+	// Mask of the cards the seat surely holds
+	public long getKnownHand(int seat) {
+		return has[seat];
+	}
+
+	// The solution once one card of each type is known to be in it, otherwise null
+	public Solution getSolution() {
+		long found = has[solution];
+		Card person = single(found & typeMasks[CardType.PERSON.ordinal()]);
+		Card weapon = single(found & typeMasks[CardType.WEAPON.ordinal()]);
+		Card room = single(found & typeMasks[CardType.ROOM.ordinal()]);
+		return person != null && weapon != null && room != null ? new Solution(person, weapon, room) : null;
+	}
+
+	private Card single(long mask) {
+		return Long.bitCount(mask) == 1 ? cards.getCard(Long.numberOfTrailingZeros(mask)) : null;
+	}
+
+	// The seat holds at least one card of the mask
+	private static final class Clause {
+		private final int seat;
+		private final long mask;
+
+		Clause(int seat, long mask) {
+			this.seat = seat;
+			this.mask = mask;
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package clueGame;
+
+import java.util.Arrays;
+
+// Shortest movement distances, in steps, precomputed once per loaded board. Entering a room
+// center ends a move, so paths never pass through another center. Occupancy is ignored:
+// these are distances on the empty board. Unreachable pairs are UNREACHABLE. Distances are
+// kept as shorts, so any distance above MAX_DISTANCE reads as MAX_DISTANCE.
+public class DistanceTable {
+	public static final int UNREACHABLE = -1;
+	// Largest distance kept; longer paths saturate here, never reaching the sentinel
+	public static final int MAX_DISTANCE = Short.MAX_VALUE;
+	
+	private final BoardGraph graph;
+	private final int numCells;
+	private final int[] centerIds;
+	// centerIndex[id] is the row of a room center in toCenter, or -1
+	private final int[] centerIndex;
+	// toCenter[c * numCells + id] = steps from cell id to center c
+	private final short[] toCenter;
+	// Optional all-pairs table over walkway cells, null unless requested
+	private final int[] walkwayIndex;
+	private final int numWalkways;
+	private final short[] walkwayDistances;
+	
+	public DistanceTable(BoardGraph graph, boolean walkwayPairs) {
+		this.graph = graph;
+		this.numCells = graph.getNumCells();
+		
+		centerIndex = new int[numCells];
+		Arrays.fill(centerIndex, -1);
+		int count = 0;
+		for (int id = 0; id < numCells; id++) {
+			if (graph.isRoomCenter(id)) {
+				centerIndex[id] = count++;
+			}
+		}
+		centerIds = new int[count];
+		for (int id = 0; id < numCells; id++) {
+			if (centerIndex[id] >= 0) {
+				centerIds[centerIndex[id]] = id;
+			}
+		}
+		
+		int[] queue = new int[numCells];
+		toCenter = new short[tableSize(count, numCells)];
+		Arrays.fill(toCenter, (short) UNREACHABLE);
+		for (int c = 0; c < count; c++) {
+			fillToCenter(c, queue);
+		}
+		
+		if (walkwayPairs) {
+			walkwayIndex = new int[numCells];
+			Arrays.fill(walkwayIndex, -1);
+			int walkways = 0;
+			for (int id = 0; id < numCells; id++) {
+				if (isWalkway(id)) {
+					walkwayIndex[id] = walkways++;
+				}
+			}
+			numWalkways = walkways;
+			walkwayDistances = new short[tableSize(walkways, walkways)];
+			Arrays.fill(walkwayDistances, (short) UNREACHABLE);
+			short[] dist = new short[numCells];
+			for (int id = 0; id < numCells; id++) {
+				if (walkwayIndex[id] >= 0) {
+					fillFromWalkway(id, dist, queue);
+				}
+			}
+		} else {
+			walkwayIndex = null;
+			numWalkways = 0;
+			walkwayDistances = null;
+		}
+	}
+	
+	// Length of a rows by columns table, which must fit in one array
+	private static int tableSize(int rows, int columns) {
+		long size = (long) rows * columns;
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Distance table of " + rows + " by " + columns + " cells is too large");
+		}
+		return (int) size;
+	}
+	
+	// One step further than the given distance, saturating at MAX_DISTANCE
+	private static short next(short distance) {
+		return distance < MAX_DISTANCE ? (short) (distance + 1) : (short) MAX_DISTANCE;
+	}
+	
+	// Reverse breadth-first search from a center over predecessors; only the target center
+	// itself and non-center cells are expanded
+	private void fillToCenter(int c, int[] queue) {
+		int base = c * numCells;
+		int center = centerIds[c];
+		toCenter[base + center] = 0;
+		queue[0] = center;
+		int head = 0;
+		int tail = 1;
+		while (head < tail) {
+			int id = queue[head++];
+			if (id != center && graph.isRoomCenter(id)) {
+				continue;
+			}
+			short next = next(toCenter[base + id]);
+			for (int i = graph.getPredecessorStart(id); i < graph.getPredecessorEnd(id); i++) {
+				int pred = graph.getPredecessor(i);
+				if (toCenter[base + pred] == UNREACHABLE) {
+					toCenter[base + pred] = next;
+					queue[tail++] = pred;
+				}
+			}
+		}
+	}
+	
+	// Forward breadth-first search from one walkway that never leaves a room center
+	private void fillFromWalkway(int start, short[] dist, int[] queue) {
+		Arrays.fill(dist, (short) UNREACHABLE);
+		int base = walkwayIndex[start] * numWalkways;
+		dist[start] = 0;
+		queue[0] = start;
+		int head = 0;
+		int tail = 1;
+		while (head < tail) {
+			int id = queue[head++];
+			if (walkwayIndex[id] >= 0) {
+				walkwayDistances[base + walkwayIndex[id]] = dist[id];
+			}
+			if (graph.isRoomCenter(id)) {
+				continue;
+			}
+			for (int i = graph.getNeighborStart(id); i < graph.getNeighborEnd(id); i++) {
+				int adj = graph.getNeighbor(i);
+				if (dist[adj] == UNREACHABLE) {
+					dist[adj] = next(dist[id]);
+					queue[tail++] = adj;
+				}
+			}
+		}
+	}
+	
+	// Walkways are the cells with moves out of them that are not room centers
+	private boolean isWalkway(int id) {
+		return graph.getDegree(id) > 0 && !graph.isRoomCenter(id);
+	}
+	
+	public int getNumCenters() {
+		return centerIds.length;
+	}
+	
+	// Cell id of the room center at the given index
+	public int getCenterId(int index) {
+		return centerIds[index];
+	}
+	
+	// Steps from a cell to a room center, at most MAX_DISTANCE, or UNREACHABLE
+	public int getDistanceToCenter(int cellId, int centerId) {
+		int c = centerIndex[centerId];
+		if (c < 0) {
+			throw new IllegalArgumentException("Cell " + centerId + " is not a room center");
+		}
+		return toCenter[c * numCells + cellId];
+	}
+	
+	// Room center closest to the cell, other than the cell itself, or -1 if no room can be reached
+	public int getNearestCenter(int cellId) {
+		int best = -1;
+		int bestDistance = Integer.MAX_VALUE;
+		for (int c = 0; c < centerIds.length; c++) {
+			int distance = toCenter[c * numCells + cellId];
+			if (distance > 0 && distance < bestDistance) {
+				best = centerIds[c];
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+	
+	public boolean hasWalkwayDistances() {
+		return walkwayDistances != null;
+	}
+	
+	// Steps between two walkway cells, at most MAX_DISTANCE, or UNREACHABLE
+	public int getWalkwayDistance(int fromId, int toId) {
+		if (walkwayDistances == null) {
+			throw new IllegalStateException("Walkway distances were not precomputed");
+		}
+		int from = walkwayIndex[fromId];
+		int to = walkwayIndex[toId];
+		if (from < 0 || to < 0) {
+			throw new IllegalArgumentException("Walkway distances are only kept between walkway cells");
+		}
+		return walkwayDistances[from * numWalkways + to];
+	}
+}
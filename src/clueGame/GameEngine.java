@@ -0,0 +1,302 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Runs the turns of one game without any user interface. Computer turns are played in full
+// as soon as they start; on a human turn the engine waits for moveHuman, makeSuggestion or
+// accuse to be called. Everything that happens is reported to the GameListeners, so a GUI
+// only has to draw the events and pass on the human's choices.
+public class GameEngine {
+	private static final int DIE_SIDES = ReachProbabilities.DIE_SIDES;
+
+	private final GameState game;
+	private final List<GameListener> listeners = new ArrayList<>();
+
+	private int currentPlayerIndex;
+	private int currentRoll;
+	private Set<BoardCell> currentTargets = Collections.emptySet();
+	private boolean started;
+	private boolean humanTurnInProgress;
+	private boolean hasMovedThisTurn;
+	private boolean gameOver;
+	private Player winner;
+	private int turnCount;
+
+	// An engine for the game, rolling the dice from the game's GameRandom
+	public GameEngine(GameState game) {
+		this.game = game;
+	}
+
+	public void addListener(GameListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(GameListener listener) {
+		listeners.remove(listener);
+	}
+
+	// Start the first turn, with the first player in the list
+	public void start() {
+		if (started) {
+			throw new IllegalStateException("Game already started");
+		}
+		started = true;
+		currentPlayerIndex = 0;
+		startTurn();
+	}
+
+	// Play turns until the game is over, a human player has to act, or maxTurns turns have
+	// been started in total. Returns the winner, or null if nobody has won yet.
+	public Player play(int maxTurns) {
+		if (!started) {
+			start();
+		}
+		while (!gameOver && turnCount < maxTurns && canAdvance()) {
+			advance();
+		}
+		return winner;
+	}
+
+	// Check that the current player has finished, so the next turn may start
+	public boolean canAdvance() {
+		return started && !gameOver && !(getCurrentPlayer() instanceof HumanPlayer && !hasMovedThisTurn);
+	}
+
+	// Start the next player's turn. Returns false, changing nothing, if the game is over or
+	// the human player has not moved yet.
+	public boolean advance() {
+		if (!canAdvance()) {
+			return false;
+		}
+		currentPlayerIndex = (currentPlayerIndex + 1) % game.getPlayers().size();
+		startTurn();
+		return true;
+	}
+
+	// Roll, find the targets and play the turn if it belongs to the computer
+	private void startTurn() {
+		turnCount++;
+		Player currentPlayer = getCurrentPlayer();
+
+		// Roll the dice (1-6)
+		currentRoll = game.getRandom().roll(DIE_SIDES);
+
+		BoardCell currentCell = game.getTopology().getCell(currentPlayer.getRow(), currentPlayer.getCol());
+		// Kept in id order, so a seeded game makes the same choices every time it is played
+		currentTargets = new TreeSet<>(Comparator.comparingInt(BoardCell::getId));
+		currentTargets.addAll(game.findTargets(currentCell, currentRoll).getTargets());
+
+		// A player brought into a room by a suggestion may stay there, but only a human gets
+		// the choice; computer players must leave, so they are not all dragged into one room
+		if (currentCell.isRoomCenter()) {
+			if (currentPlayer instanceof HumanPlayer) {
+				HumanPlayer hp = (HumanPlayer) currentPlayer;
+				if (hp.wasMovedBySuggestion()) {
+					currentTargets.add(currentCell);
+					hp.setWasMovedBySuggestion(false);
+				}
+			} else if (currentPlayer instanceof ComputerPlayer) {
+				((ComputerPlayer) currentPlayer).setWasMovedBySuggestion(false);
+			}
+		}
+
+		for (GameListener listener : listeners) {
+			listener.turnStarted(currentPlayer, currentRoll, Collections.unmodifiableSet(currentTargets));
+		}
+
+		if (currentPlayer instanceof HumanPlayer) {
+			humanTurnInProgress = true;
+			// With no valid moves the human may pass
+			hasMovedThisTurn = currentTargets.isEmpty();
+		} else {
+			humanTurnInProgress = false;
+			hasMovedThisTurn = true;
+			ComputerPlayer computer = (ComputerPlayer) currentPlayer;
+			if (computer.shouldMakeAccusation()) {
+				makeComputerAccusation(computer);
+				if (gameOver) {
+					return;
+				}
+			}
+			playComputerMove(computer);
+		}
+	}
+
+	// Move the computer to its chosen target and make a suggestion if that is a room
+	private void playComputerMove(ComputerPlayer computer) {
+		BoardCell target = computer.selectTargets(currentTargets);
+		if (target == null) {
+			return;
+		}
+		movePlayer(computer, target);
+		if (!target.isRoomCenter()) {
+			return;
+		}
+
+		Room room = game.getTopology().getRoom(target);
+		Card roomCard = game.getTopology().getCard(room.getName(), CardType.ROOM);
+		Solution suggestion = computer.createSuggestion(roomCard);
+
+		// Mark this room as seen so the computer doesn't keep returning; one that deduces
+		// chooses its rooms from what it knows instead
+		if (computer.getDeduction() == null) {
+			computer.updateSeen(roomCard);
+		}
+
+		SuggestionResult result = suggest(computer, suggestion, room);
+		if (result != null) {
+			computer.updateSeen(result.getCard());
+			computer.clearAccusation();
+
+			// A human who shows a card remembers who it was shown to
+			if (result.getPlayer() instanceof HumanPlayer) {
+				((HumanPlayer) result.getPlayer()).updateSeen(result.getCard(), computer);
+			}
+		} else if (!computer.hasCard(roomCard)) {
+			// Nobody could disprove and the room is not in hand: accuse next turn
+			computer.setShouldMakeAccusation(true, suggestion);
+		}
+	}
+
+	private void makeComputerAccusation(ComputerPlayer computer) {
+		Solution accusation = computer.getPendingAccusation();
+		computer.clearAccusation();
+		if (accusation != null) {
+			accuse(computer, accusation);
+		}
+	}
+
+	// Check whether the human on turn may still move; false once moved or on a computer's turn
+	public boolean isAwaitingHumanMove() {
+		return humanTurnInProgress && !hasMovedThisTurn && !gameOver;
+	}
+
+	// Move the human on turn to one of the current targets. Returns false, changing nothing,
+	// if it is not the human's move or the cell is not a target.
+	public boolean moveHuman(BoardCell target) {
+		if (!isAwaitingHumanMove() || !currentTargets.contains(target)) {
+			return false;
+		}
+		hasMovedThisTurn = true;
+		movePlayer(getCurrentPlayer(), target);
+		return true;
+	}
+
+	private void movePlayer(Player player, BoardCell target) {
+		player.setPosition(target.getRow(), target.getCol());
+		for (GameListener listener : listeners) {
+			listener.playerMoved(player, target);
+		}
+	}
+
+	// A suggestion by the given player from inside the room: the accused person is brought
+	// into the room, then the other players try to disprove it in turn order
+	public SuggestionResult makeSuggestion(Player player, Solution suggestion, Room room) {
+		return suggest(player, intern(suggestion), room);
+	}
+
+	// Swap cards made outside the deck, such as a dialog's, or from another topology's registry
+	// for this game's registered ones with ids
+	private Solution intern(Solution solution) {
+		CardRegistry cards = game.getCardRegistry();
+		if (solution == null || solution.getCardRegistry() == cards) {
+			return solution;
+		}
+		return new Solution(cards.intern(solution.getPerson()), cards.intern(solution.getWeapon()), cards.intern(solution.getRoom()));
+	}
+
+	private SuggestionResult suggest(Player player, Solution suggestion, Room room) {
+		for (GameListener listener : listeners) {
+			listener.suggestionMade(player, suggestion);
+		}
+		Player accused = game.moveAccusedPlayerToRoom(suggestion, room);
+		if (accused != null) {
+			for (GameListener listener : listeners) {
+				listener.playerMoved(accused, room.getCenterCell());
+			}
+		}
+		SuggestionResult result = game.handleSuggestionWithOwner(player, suggestion);
+		for (Player observer : game.getPlayers()) {
+			if (observer instanceof ComputerPlayer) {
+				((ComputerPlayer) observer).observeSuggestion(player, suggestion, result);
+			}
+		}
+		for (GameListener listener : listeners) {
+			listener.suggestionAnswered(player, suggestion, result);
+		}
+		return result;
+	}
+
+	// Check whether the human on turn may accuse: only at the beginning of the turn
+	public boolean canHumanAccuse() {
+		return isAwaitingHumanMove();
+	}
+
+	// Check an accusation. A correct one wins the game; a wrong one by a human ends the game,
+	// and a computer that accuses wrongly simply carries on.
+	public boolean accuse(Player player, Solution accusation) {
+		accusation = intern(accusation);
+		boolean correct = game.checkAccusation(accusation);
+		for (GameListener listener : listeners) {
+			listener.accusationMade(player, accusation, correct);
+		}
+		if (correct) {
+			endGame(player);
+		} else if (player instanceof HumanPlayer) {
+			endGame(null);
+		}
+		return correct;
+	}
+
+	private void endGame(Player winningPlayer) {
+		gameOver = true;
+		winner = winningPlayer;
+		humanTurnInProgress = false;
+		for (GameListener listener : listeners) {
+			listener.gameOver(winningPlayer);
+		}
+	}
+
+	public GameState getGame() {
+		return game;
+	}
+
+	public Player getCurrentPlayer() {
+		return game.getPlayers().get(currentPlayerIndex);
+	}
+
+	public int getCurrentRoll() {
+		return currentRoll;
+	}
+
+	// Read-only targets of the current turn
+	public Set<BoardCell> getCurrentTargets() {
+		return Collections.unmodifiableSet(currentTargets);
+	}
+
+	public boolean hasMovedThisTurn() {
+		return hasMovedThisTurn;
+	}
+
+	public boolean isHumanTurn() {
+		return humanTurnInProgress;
+	}
+
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	public Player getWinner() {
+		return winner;
+	}
+
+	// Number of turns started so far
+	public int getTurnCount() {
+		return turnCount;
+	}
+}
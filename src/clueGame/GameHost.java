@@ -0,0 +1,112 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hosts many games with human players on one shared topology. Sessions take no thread of their
+// own; their actions and the computer turns that follow run on one bounded pool, so the number
+// of threads stays fixed however many sessions are open, and sessions waiting for their human
+// cost only memory.
+public class GameHost {
+	private final BoardTopology topology;
+	private final ExecutorService pool;
+	private final int threads;
+	private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+	private final AtomicLong nextId = new AtomicLong(1);
+
+	// A host running sessions on the given number of pool threads
+	public GameHost(BoardTopology topology, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Need at least one thread: " + threads);
+		}
+		this.topology = topology;
+		this.threads = threads;
+		this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "game-host");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	// A host with one pool thread for each processor
+	public GameHost(BoardTopology topology) {
+		this(topology, Runtime.getRuntime().availableProcessors());
+	}
+
+	public BoardTopology getTopology() {
+		return topology;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	// Open a session with freshly dealt cards; call start on it to play up to the human's turn
+	public GameSession openSession() {
+		return openSession(new GameRandom());
+	}
+
+	// As above, with the deal, the dice and the computer players' choices all drawn from the
+	// given stream, so a seeded session replays the same way
+	public GameSession openSession(GameRandom random) {
+		GameState game = topology.newGame();
+		game.setRandom(random);
+		game.dealCards();
+		GameSession session = new GameSession(nextId.getAndIncrement(), game, pool);
+		sessions.put(session.getId(), session);
+		return session;
+	}
+
+	// The open session with the given id, or null
+	public GameSession getSession(long id) {
+		return sessions.get(id);
+	}
+
+	public Collection<GameSession> getSessions() {
+		return Collections.unmodifiableCollection(sessions.values());
+	}
+
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	// Close a session; it accepts no more actions. Returns false if it was not open.
+	public boolean closeSession(long id) {
+		GameSession session = sessions.remove(id);
+		if (session == null) {
+			return false;
+		}
+		session.close();
+		return true;
+	}
+
+	// Close every session and stop the pool once queued actions have run. Returns true if they
+	// all ran within a minute; otherwise the pool is interrupted, the futures of the actions that
+	// did not run fail, and false is returned.
+	public boolean shutdown() throws InterruptedException {
+		List<GameSession> closed = new ArrayList<>();
+		for (Long id : sessions.keySet()) {
+			GameSession session = sessions.get(id);
+			if (closeSession(id)) {
+				closed.add(session);
+			}
+		}
+		pool.shutdown();
+		if (pool.awaitTermination(1, TimeUnit.MINUTES)) {
+			return true;
+		}
+		pool.shutdownNow();
+		for (GameSession session : closed) {
+			session.abandon();
+		}
+		return false;
+	}
+}
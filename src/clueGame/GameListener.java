@@ -0,0 +1,29 @@
+package clueGame;
+
+import java.util.Set;
+
+// Told about everything that happens in a GameEngine. All methods do nothing by default,
+// so a listener only overrides the events it shows or records.
+public interface GameListener {
+	// A turn started: the player rolled and may move to one of the targets
+	default void turnStarted(Player player, int roll, Set<BoardCell> targets) {
+	}
+
+	// A player moved on their own turn, or was brought into a room by a suggestion
+	default void playerMoved(Player player, BoardCell cell) {
+	}
+
+	default void suggestionMade(Player player, Solution suggestion) {
+	}
+
+	// The answer to a suggestion; result is null when no one could disprove it
+	default void suggestionAnswered(Player player, Solution suggestion, SuggestionResult result) {
+	}
+
+	default void accusationMade(Player player, Solution accusation, boolean correct) {
+	}
+
+	// The game ended; winner is null if nobody won
+	default void gameOver(Player winner) {
+	}
+}
@@ -0,0 +1,67 @@
+package clueGame;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// The source of every random choice in one game: the deal, the dice and the players' picks.
+// A game made from a seed plays the same way every time, so an unusual game can be replayed
+// from its seed alone. Each player draws from its own stream split off the game's, so the
+// players' choices do not shift the dice. Like the game it belongs to, it is not thread safe.
+public final class GameRandom {
+	// Seed of an unseeded GameRandom, which cannot be replayed
+	public static final long NO_SEED = Long.MIN_VALUE;
+
+	private final SplittableRandom random;
+	private final long seed;
+
+	// A random stream replayable from the seed
+	public GameRandom(long seed) {
+		this.random = new SplittableRandom(seed);
+		this.seed = seed;
+	}
+
+	// A stream from a seed nobody knows, for games that need not be replayed
+	public GameRandom() {
+		this(new SplittableRandom(), NO_SEED);
+	}
+
+	private GameRandom(SplittableRandom random, long seed) {
+		this.random = random;
+		this.seed = seed;
+	}
+
+	// Seed this stream was made from, or NO_SEED for an unseeded or split stream
+	public long getSeed() {
+		return seed;
+	}
+
+	// A new independent stream; the streams split off one seeded stream, in order, are
+	// the same every time
+	public GameRandom split() {
+		return new GameRandom(random.split(), NO_SEED);
+	}
+
+	// A number from 0 up to, not including, bound
+	public int nextInt(int bound) {
+		return random.nextInt(bound);
+	}
+
+	public long nextLong() {
+		return random.nextLong();
+	}
+
+	// Roll one die with the given number of sides, from 1 up to sides
+	public int roll(int sides) {
+		return random.nextInt(sides) + 1;
+	}
+
+	// Shuffle the list in place, every order being equally likely
+	public <T> void shuffle(List<T> list) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			T swap = list.get(i);
+			list.set(i, list.get(j));
+			list.set(j, swap);
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package clueGame;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One hosted game with a human player. A session owns no thread: each human action is queued
+// and run on the host's pool, one action of the session at a time, and the computer turns that
+// follow run in the same task. While the game waits for the human nothing of the session is
+// scheduled, so an idle session costs only its game state. Every action returns a future that
+// completes once the action and any computer turns after it are done; invalid actions complete
+// with false or null and change nothing, like the GameEngine methods they call.
+public class GameSession {
+	private final long id;
+	private final GameEngine engine;
+	private final Executor executor;
+	private final Queue<Action<?>> actions = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private volatile boolean closed;
+	private boolean suggestedThisTurn;
+
+	GameSession(long id, GameState game, Executor executor) {
+		this.id = id;
+		this.engine = new GameEngine(game);
+		this.executor = executor;
+		engine.addListener(new GameListener() {
+			@Override
+			public void turnStarted(Player player, int roll, Set<BoardCell> targets) {
+				suggestedThisTurn = false;
+			}
+		});
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	// Listeners are called on a pool thread, one event at a time for each session
+	public CompletableFuture<Void> addListener(GameListener listener) {
+		return submit(() -> {
+			engine.addListener(listener);
+			return null;
+		});
+	}
+
+	// Start the game and play the computer turns up to the human's first turn
+	public CompletableFuture<Void> start() {
+		return submit(() -> {
+			engine.play(Integer.MAX_VALUE);
+			return null;
+		});
+	}
+
+	public CompletableFuture<Boolean> moveHuman(int row, int col) {
+		return submit(() -> engine.moveHuman(engine.getGame().getTopology().getCell(row, col)));
+	}
+
+	// Suggest in the room the human moved into this turn; null if no one could disprove it or
+	// the human may not suggest now
+	public CompletableFuture<SuggestionResult> makeSuggestion(Solution suggestion) {
+		return submit(() -> {
+			Player player = engine.getCurrentPlayer();
+			BoardCell cell = engine.getGame().getTopology().getCell(player.getRow(), player.getCol());
+			if (!engine.isHumanTurn() || !engine.hasMovedThisTurn() || suggestedThisTurn || !cell.isRoomCenter()) {
+				return null;
+			}
+			suggestedThisTurn = true;
+			SuggestionResult result = engine.makeSuggestion(player, suggestion, engine.getGame().getTopology().getRoom(cell));
+			if (result != null && player instanceof HumanPlayer) {
+				((HumanPlayer) player).updateSeen(result.getCard(), result.getPlayer());
+			}
+			return result;
+		});
+	}
+
+	// Accuse at the beginning of the human's turn; false if wrong or not allowed now
+	public CompletableFuture<Boolean> accuse(Solution accusation) {
+		return submit(() -> engine.canHumanAccuse() && engine.accuse(engine.getCurrentPlayer(), accusation));
+	}
+
+	// End the human's turn and play the computer turns up to the human's next turn
+	public CompletableFuture<Boolean> endTurn() {
+		return submit(() -> {
+			if (!engine.advance()) {
+				return false;
+			}
+			engine.play(Integer.MAX_VALUE);
+			return true;
+		});
+	}
+
+	// Run a read of the game between actions, so it never sees a turn half played
+	public <T> CompletableFuture<T> query(Callable<T> read) {
+		return submit(read);
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	// Refuse further actions; actions already queued still run
+	void close() {
+		closed = true;
+	}
+
+	// The engine, for queries run through query
+	public GameEngine getEngine() {
+		return engine;
+	}
+
+	private <T> CompletableFuture<T> submit(Callable<T> action) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		if (closed) {
+			future.completeExceptionally(new IllegalStateException("Session " + id + " is closed"));
+			return future;
+		}
+		actions.add(new Action<>(action, future));
+		schedule();
+		return future;
+	}
+
+	// Hand the queue to the pool unless a pool thread is already working through it
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				// The pool has shut down and nothing will run the queue
+				scheduled.set(false);
+				abandon();
+			}
+		}
+	}
+
+	// Fail the futures of the actions still queued, once the pool will not run them
+	void abandon() {
+		Action<?> action;
+		while ((action = actions.poll()) != null) {
+			action.future.completeExceptionally(new IllegalStateException("Session " + id + " was shut down"));
+		}
+	}
+
+	private void drain() {
+		do {
+			Action<?> action;
+			while ((action = actions.poll()) != null) {
+				action.run();
+			}
+			scheduled.set(false);
+			// An action queued after the poll came back empty would otherwise wait for the next
+			// one; keep running on this thread, which works even once the pool is shutting down
+		} while (!actions.isEmpty() && scheduled.compareAndSet(false, true));
+	}
+
+	// A queued action and the future it completes
+	private static final class Action<T> {
+		private final Callable<T> call;
+		private final CompletableFuture<T> future;
+
+		Action(Callable<T> call, CompletableFuture<T> future) {
+			this.call = call;
+			this.future = future;
+		}
+
+		void run() {
+			try {
+				future.complete(call.call());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		}
+	}
+}
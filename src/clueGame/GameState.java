@@ -0,0 +1,328 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Everything that changes during one game: the players, the deck, the answer and which
+// cells are occupied. Games share the cells and graph of their BoardTopology, so occupancy
+// is kept by cell id in each game's own Occupancy and the occupied flags on the shared
+// cells are not used. A game is not thread safe; play each one on a single thread.
+public class GameState {
+	private final BoardTopology topology;
+	private final List<Player> players;
+	private final Occupancy occupancy;
+	private final boolean tracksPlayers;
+	private final PlayerMoveListener occupancyTracker = this::updateOccupancy;
+	private StampedTargetSearch search;
+	private List<Card> deck;
+	private Solution theAnswer;
+	private GameRandom random = new GameRandom();
+	// Who holds each card, from the last deal; null until a deal or after the players change
+	private CardOwnerIndex owners;
+
+	// A new game with fresh players at their starting cells. Computer players plan their
+	// moves with the topology's planner, and every player's cell is occupied.
+	public GameState(BoardTopology topology) {
+		this(topology, false);
+	}
+
+	// As above; with computersOnly every person is played by the computer, for unattended games
+	public GameState(BoardTopology topology, boolean computersOnly) {
+		this(topology, new ArrayList<>(), new Occupancy(topology.getGraph().getNumCells()), true);
+		for (BoardTopology.PlayerStart start : topology.getPlayerStarts()) {
+			Player player = computersOnly ? start.createComputerPlayer() : start.createPlayer();
+			if (player instanceof ComputerPlayer) {
+				((ComputerPlayer) player).setTopology(topology);
+				((ComputerPlayer) player).setPlanner(topology.getMovementPlanner());
+			}
+			addPlayer(player);
+		}
+	}
+
+	// The Board's own game, over its player list and occupancy, which the Board keeps up to date
+	GameState(BoardTopology topology, List<Player> players, Occupancy occupancy) {
+		this(topology, players, occupancy, false);
+	}
+
+	private GameState(BoardTopology topology, List<Player> players, Occupancy occupancy, boolean tracksPlayers) {
+		this.topology = topology;
+		this.players = players;
+		this.occupancy = occupancy;
+		this.tracksPlayers = tracksPlayers;
+		playersChanged();
+	}
+
+	public BoardTopology getTopology() {
+		return topology;
+	}
+
+	public List<Player> getPlayers() {
+		return players;
+	}
+
+	// Add a player to the turn order, occupying its cell in games that track players
+	public void addPlayer(Player player) {
+		players.add(player);
+		player.setRandom(random.split());
+		playersChanged();
+		if (tracksPlayers) {
+			player.setMoveListener(occupancyTracker);
+			int id = getCellId(player.getRow(), player.getCol());
+			if (id >= 0) {
+				occupancy.enter(id);
+			}
+		}
+	}
+
+	// Seat every player at its place in the turn order and drop the card owners, which no
+	// longer match; called whenever the player list changes
+	void playersChanged() {
+		for (int seat = 0; seat < players.size(); seat++) {
+			players.get(seat).setSeat(seat);
+		}
+		if (owners != null) {
+			owners.invalidate();
+			owners = null;
+		}
+	}
+
+	// Place of the player in the turn order, or -1 if not in this game
+	private int seatOf(Player player) {
+		int seat = player.getSeat();
+		if (seat >= 0 && seat < players.size() && players.get(seat) == player) {
+			return seat;
+		}
+		return players.indexOf(player);
+	}
+
+	public GameRandom getRandom() {
+		return random;
+	}
+
+	// Draw the deal, the dice and the players' choices from the given stream. Each player gets
+	// a stream split off it in turn order, so a seeded game replays exactly if this is called
+	// before dealing.
+	public void setRandom(GameRandom random) {
+		this.random = random;
+		for (Player player : players) {
+			player.setRandom(random.split());
+		}
+	}
+
+	public Occupancy getOccupancy() {
+		return occupancy;
+	}
+
+	private void updateOccupancy(Player player, int oldRow, int oldCol) {
+		int oldId = getCellId(oldRow, oldCol);
+		if (oldId >= 0) {
+			occupancy.leave(oldId);
+		}
+		int newId = getCellId(player.getRow(), player.getCol());
+		if (newId >= 0) {
+			occupancy.enter(newId);
+		}
+	}
+
+	private int getCellId(int row, int col) {
+		if (row < 0 || row >= topology.getNumRows() || col < 0 || col >= topology.getNumColumns()) {
+			return -1;
+		}
+		return topology.getCell(row, col).getId();
+	}
+
+	// Targets for a move in this game, with its occupied cells blocking walkways
+	public TargetResult findTargets(BoardCell startCell, int pathLength) {
+		if (!startSearch(startCell)) {
+			return new TargetResult(startCell, pathLength, Collections.<BoardCell>emptySet());
+		}
+		search.search(startCell.getId(), pathLength);
+		return TargetResult.fromSearch(startCell, pathLength, topology.getGraph(), search);
+	}
+
+	// Targets for every roll from 1 to maxRoll in this game
+	public RollTargets findTargetsForRolls(BoardCell startCell, int maxRoll) {
+		if (!startSearch(startCell)) {
+			return RollTargets.empty(startCell, maxRoll);
+		}
+		search.searchAllRolls(startCell.getId(), maxRoll);
+		return RollTargets.fromSearch(startCell, maxRoll, topology.getGraph(), search);
+	}
+
+	// Check the start cell belongs to the topology and make sure the search buffers exist
+	private boolean startSearch(BoardCell startCell) {
+		BoardGraph graph = topology.getGraph();
+		int id = startCell.getId();
+		if (id < 0 || id >= graph.getNumCells() || graph.getCell(id) != startCell) {
+			return false;
+		}
+		if (search == null) {
+			search = new StampedTargetSearch(graph, occupancy);
+		}
+		return true;
+	}
+
+	public void createDeck() {
+		deck = topology.createDeck();
+	}
+
+	// Pick the answer and deal the rest of the deck round the players
+	public void dealCards() {
+		if (deck == null) createDeck();
+
+		List<Card> roomCards = new ArrayList<>();
+		List<Card> personCards = new ArrayList<>();
+		List<Card> weaponCards = new ArrayList<>();
+
+		for (Card c : deck) {
+			switch (c.getType()) {
+				case ROOM: roomCards.add(c); break;
+				case PERSON: personCards.add(c); break;
+				case WEAPON: weaponCards.add(c); break;
+			}
+		}
+
+		random.shuffle(roomCards);
+		random.shuffle(personCards);
+		random.shuffle(weaponCards);
+
+		Card room = roomCards.remove(0);
+		Card person = personCards.remove(0);
+		Card weapon = weaponCards.remove(0);
+		theAnswer = new Solution(person, weapon, room);
+
+		List<Card> remainingDeck = new ArrayList<>();
+		remainingDeck.addAll(roomCards);
+		remainingDeck.addAll(personCards);
+		remainingDeck.addAll(weaponCards);
+		random.shuffle(remainingDeck);
+
+		int playerIdx = 0;
+		for (Card c : remainingDeck) {
+			players.get(playerIdx).updateHand(c);
+			playerIdx = (playerIdx + 1) % players.size();
+		}
+		playersChanged();
+		owners = new CardOwnerIndex(players);
+		startDeductions();
+	}
+
+	// Give every computer player knowledge of its own hand and of how many cards each seat holds
+	private void startDeductions() {
+		CardRegistry cards = getCardRegistry();
+		if (!cards.fitsInMask()) {
+			return;
+		}
+		int[] handSizes = new int[players.size()];
+		for (int seat = 0; seat < handSizes.length; seat++) {
+			handSizes[seat] = players.get(seat).getHand().size();
+		}
+		for (Player player : players) {
+			if (player instanceof ComputerPlayer) {
+				long handMask = player.getHandRegistry() == cards ? player.getHandMask() : cards.getMask(player.getHand());
+				((ComputerPlayer) player).setDeduction(new Deduction(cards, handSizes, player.getSeat(), handMask));
+			}
+		}
+	}
+
+	// The topology's cards, shared by all its games
+	public CardRegistry getCardRegistry() {
+		return topology.getCardRegistry();
+	}
+
+	// A copy of the deck, created first if need be
+	public List<Card> getDeck() {
+		if (deck == null) createDeck();
+		return new ArrayList<>(deck);
+	}
+
+	public Solution getTheAnswer() {
+		return theAnswer;
+	}
+
+	public void setTheAnswer(Solution answer) {
+		this.theAnswer = answer;
+	}
+
+	public boolean checkAccusation(Solution accusation) {
+		if (theAnswer == null || accusation == null) {
+			return false;
+		}
+
+		return theAnswer.getPerson().equals(accusation.getPerson()) &&
+				theAnswer.getWeapon().equals(accusation.getWeapon()) &&
+				theAnswer.getRoom().equals(accusation.getRoom());
+	}
+
+	// Handle suggestion by querying players in order, return card that disproves or null
+	public Card handleSuggestion(Player accuser, Solution suggestion) {
+		SuggestionResult result = handleSuggestionWithOwner(accuser, suggestion);
+		return result != null ? result.getCard() : null;
+	}
+
+	// Handle suggestion and return both the card and who showed it
+	public SuggestionResult handleSuggestionWithOwner(Player accuser, Solution suggestion) {
+		// Find the accuser's index in the player list
+		int accuserIndex = seatOf(accuser);
+		if (accuserIndex == -1) {
+			return null; // Accuser not in player list
+		}
+
+		// The first owner clockwise of one of the cards is the one who disproves
+		// The index is in this game's card ids, so only a suggestion of its cards can use it
+		long suggestionMask = suggestion.getCardMask();
+		if (owners != null && suggestionMask != 0 && suggestion.getCardRegistry() == getCardRegistry()
+				&& owners.isUsable(players)) {
+			int seat = owners.findDisprover(accuserIndex, suggestionMask);
+			if (seat == CardOwnerIndex.NO_OWNER) {
+				return null;
+			}
+			Player owner = players.get(seat);
+			Card disproofCard = owner.disproveSuggestion(suggestion);
+			if (disproofCard != null) {
+				return new SuggestionResult(disproofCard, owner);
+			}
+		}
+
+		// Query each player in order, starting after the accuser
+		for (int i = 1; i < players.size(); i++) {
+			int currentIndex = (accuserIndex + i) % players.size();
+			Player currentPlayer = players.get(currentIndex);
+
+			Card disproofCard = currentPlayer.disproveSuggestion(suggestion);
+			if (disproofCard != null) {
+				return new SuggestionResult(disproofCard, currentPlayer);
+			}
+		}
+
+		return null; // No one could disprove
+	}
+
+	// Move the accused player to the center of the room where the suggestion is made
+	public Player moveAccusedPlayerToRoom(Solution suggestion, Room room) {
+		String personName = suggestion.getPerson().getName();
+		BoardCell roomCenter = room.getCenterCell();
+
+		if (roomCenter == null) {
+			return null;
+		}
+
+		// Find the player matching the accused person
+		for (Player player : players) {
+			if (player.getName().equals(personName)) {
+				player.setPosition(roomCenter.getRow(), roomCenter.getCol());
+
+				// Mark that this player was moved by suggestion
+				if (player instanceof ComputerPlayer) {
+					((ComputerPlayer) player).setWasMovedBySuggestion(true);
+				} else if (player instanceof HumanPlayer) {
+					((HumanPlayer) player).setWasMovedBySuggestion(true);
+				}
+
+				return player;
+			}
+		}
+		return null;
+	}
+}
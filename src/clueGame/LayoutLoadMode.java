@@ -0,0 +1,7 @@
+package clueGame;
+
+// How Board.loadLayoutConfig reads the layout file. The parallel modes parse rows on the
+// fork/join pool and report every format error in the file instead of only the first.
+public enum LayoutLoadMode {
+    STREAMING, MAPPED, MAPPED_PARALLEL, PARALLEL
+}
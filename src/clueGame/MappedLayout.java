@@ -0,0 +1,112 @@
+package clueGame;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Layout file mapped into memory with FileChannel.map, split into lines the way
+// BufferedReader.readLine does (\n, \r or \r\n, no empty line after a final terminator).
+// Lines are exposed as CharSequence views over the mapped bytes, so nothing is copied;
+// reads use absolute gets and are safe from several threads. The file must be ASCII.
+class MappedLayout {
+	private final MappedByteBuffer bytes;
+	private int[] lineStarts = new int[64];
+	private int[] lineEnds = new int[64];
+	private int numLines;
+	
+	MappedLayout(String fileName) throws FileNotFoundException, BadConfigFormatException {
+		Path path = Paths.get(fileName);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new BadConfigFormatException("Layout file is too large to map: " + size + " bytes");
+			}
+			bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} catch (NoSuchFileException e) {
+			throw new FileNotFoundException(fileName);
+		} catch (IOException e) {
+			throw new BadConfigFormatException("Error reading layout file: " + e.getMessage());
+		}
+		findLines();
+	}
+	
+	private void findLines() throws BadConfigFormatException {
+		int size = bytes.limit();
+		int start = 0;
+		int pos = 0;
+		while (pos < size) {
+			byte b = bytes.get(pos);
+			if (b < 0) {
+				throw new BadConfigFormatException("Layout file must be ASCII to be memory-mapped");
+			}
+			if (b == '\n' || b == '\r') {
+				addLine(start, pos);
+				pos++;
+				if (b == '\r' && pos < size && bytes.get(pos) == '\n') {
+					pos++;
+				}
+				start = pos;
+			} else {
+				pos++;
+			}
+		}
+		if (start < size) {
+			addLine(start, size);
+		}
+	}
+	
+	private void addLine(int start, int end) {
+		if (numLines == lineStarts.length) {
+			lineStarts = Arrays.copyOf(lineStarts, numLines * 2);
+			lineEnds = Arrays.copyOf(lineEnds, numLines * 2);
+		}
+		lineStarts[numLines] = start;
+		lineEnds[numLines] = end;
+		numLines++;
+	}
+	
+	int getNumLines() {
+		return numLines;
+	}
+	
+	CharSequence getLine(int index) {
+		return new Line(lineStarts[index], lineEnds[index]);
+	}
+	
+	private class Line implements CharSequence {
+		private final int start;
+		private final int end;
+		
+		Line(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		public int length() {
+			return end - start;
+		}
+		
+		@Override
+		public char charAt(int index) {
+			return (char) bytes.get(start + index);
+		}
+		
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			return new Line(start + from, start + to);
+		}
+		
+		@Override
+		public String toString() {
+			StringBuilder text = new StringBuilder(length());
+			return text.append(this, 0, length()).toString();
+		}
+	}
+}
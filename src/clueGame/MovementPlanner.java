@@ -0,0 +1,72 @@
+package clueGame;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+// Picks the movement target that minimizes the expected number of turns to the nearest useful
+// room. Expected turns for a distance come from a table built once per board: with one die per
+// turn and rooms entered on any step up to the roll, T(0) = 0 and
+// T(d) = 1 + (T(d - 1) + ... + T(d - 6)) / 6, with negative distances counted as 0.
+// A decision is a few table lookups per target and room, so it stays in the microsecond range.
+public class MovementPlanner {
+	private static final int DIE_SIDES = ReachProbabilities.DIE_SIDES;
+	
+	private final DistanceTable distances;
+	private final Room[] rooms;
+	private final double[] expectedTurns;
+	
+	public MovementPlanner(BoardTopology topology) {
+		this.distances = topology.getDistanceTable();
+		this.rooms = new Room[distances.getNumCenters()];
+		for (int c = 0; c < rooms.length; c++) {
+			rooms[c] = topology.getRoom(topology.getCellById(distances.getCenterId(c)));
+		}
+		
+		// Distances are shorter than the number of cells
+		int numCells = topology.getGraph().getNumCells();
+		expectedTurns = new double[numCells + 1];
+		for (int d = 1; d <= numCells; d++) {
+			double total = 0;
+			for (int roll = 1; roll <= DIE_SIDES; roll++) {
+				total += expectedTurns[Math.max(d - roll, 0)];
+			}
+			expectedTurns[d] = 1 + total / DIE_SIDES;
+		}
+	}
+	
+	// Expected turns to cover the given number of steps
+	public double getExpectedTurns(int distance) {
+		return expectedTurns[distance];
+	}
+	
+	// Expected turns from a cell to the closest room the predicate accepts, or infinity.
+	// Standing in an accepted room costs nothing.
+	public double getCost(BoardCell cell, Predicate<Room> useful) {
+		double best = Double.POSITIVE_INFINITY;
+		for (int c = 0; c < rooms.length; c++) {
+			if (!useful.test(rooms[c])) {
+				continue;
+			}
+			int distance = distances.getDistanceToCenter(cell.getId(), distances.getCenterId(c));
+			if (distance != DistanceTable.UNREACHABLE && expectedTurns[distance] < best) {
+				best = expectedTurns[distance];
+			}
+		}
+		return best;
+	}
+	
+	// Target with the lowest cost, ties going to the lowest cell id; null if no target leads to
+	// an accepted room
+	public BoardCell chooseTarget(Set<BoardCell> targets, Predicate<Room> useful) {
+		BoardCell best = null;
+		double bestCost = Double.POSITIVE_INFINITY;
+		for (BoardCell target : targets) {
+			double cost = getCost(target, useful);
+			if (cost < bestCost || (cost == bestCost && best != null && target.getId() < best.getId())) {
+				best = target;
+				bestCost = cost;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,91 @@
+package clueGame;
+
+import java.util.SplittableRandom;
+
+// Occupied cells of a board as a bitmap over dense cell ids, with a Zobrist fingerprint.
+// Each cell id has a random key and the fingerprint is the XOR of the keys of occupied cells,
+// so it changes on every occupancy flip and returns to the same value when the same cells
+// are occupied again. Players are counted per cell so several can share a room center, and
+// marks set by hand through setOccupied are kept apart from them: a cell is occupied while it
+// is marked or holds a player, so neither way of marking it can undo the other.
+public class Occupancy {
+	private static final long KEY_SEED = 0x5DEECE66DL;
+	
+	private final long[] keys;
+	private final long[] bits;
+	private final int[] playerCounts;
+	private final long[] marks;
+	private long fingerprint;
+	private OccupancyListener listener;
+	
+	public Occupancy(int numCells) {
+		keys = new long[numCells];
+		SplittableRandom random = new SplittableRandom(KEY_SEED);
+		for (int id = 0; id < numCells; id++) {
+			keys[id] = random.nextLong();
+		}
+		bits = new long[(numCells + 63) >>> 6];
+		playerCounts = new int[numCells];
+		marks = new long[bits.length];
+	}
+	
+	public boolean isOccupied(int id) {
+		return (bits[id >>> 6] & (1L << id)) != 0;
+	}
+	
+	// Mark or unmark the cell by hand; it stays occupied while players are in it
+	public void setOccupied(int id, boolean occupied) {
+		if (occupied) {
+			marks[id >>> 6] |= 1L << id;
+		} else {
+			marks[id >>> 6] &= ~(1L << id);
+		}
+		update(id);
+	}
+	
+	// A player moved onto the cell
+	public void enter(int id) {
+		playerCounts[id]++;
+		update(id);
+	}
+	
+	// A player moved off the cell; it stays occupied while other players remain or it is marked
+	public void leave(int id) {
+		if (playerCounts[id] > 0) {
+			playerCounts[id]--;
+			update(id);
+		}
+	}
+	
+	// Set the occupied bit from the mark and the player count, updating the fingerprint if it changes
+	private void update(int id) {
+		boolean occupied = playerCounts[id] > 0 || (marks[id >>> 6] & (1L << id)) != 0;
+		if (occupied != isOccupied(id)) {
+			long oldFingerprint = fingerprint;
+			bits[id >>> 6] ^= 1L << id;
+			fingerprint ^= keys[id];
+			if (listener != null) {
+				listener.occupancyChanged(id, oldFingerprint, fingerprint);
+			}
+		}
+	}
+	
+	// Listener told about every flip, e.g. the target cache
+	public void setListener(OccupancyListener listener) {
+		this.listener = listener;
+	}
+	
+	public long getFingerprint() {
+		return fingerprint;
+	}
+	
+	// Live bitmap, read by the target searches
+	long[] getBits() {
+		return bits;
+	}
+	
+	// Immutable copy of the current occupancy
+	public OccupancySnapshot snapshot() {
+		return new OccupancySnapshot(bits.clone(), fingerprint);
+	}
+}
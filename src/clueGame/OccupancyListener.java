@@ -0,0 +1,6 @@
+package clueGame;
+
+// Notified whenever a cell's occupied bit flips
+public interface OccupancyListener {
+	void occupancyChanged(int cellId, long oldFingerprint, long newFingerprint);
+}
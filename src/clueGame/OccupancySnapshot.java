@@ -0,0 +1,31 @@
+package clueGame;
+
+// Frozen copy of a board's occupancy bitmap and fingerprint. Queries that take a snapshot
+// see the same blocked cells even if players move while they run.
+public final class OccupancySnapshot {
+	private final long[] bits;
+	private final long fingerprint;
+	
+	OccupancySnapshot(long[] bits, long fingerprint) {
+		this.bits = bits;
+		this.fingerprint = fingerprint;
+	}
+	
+	// Snapshot of a board with no occupied cells
+	public static OccupancySnapshot empty(int numCells) {
+		return new OccupancySnapshot(new long[(numCells + 63) >>> 6], 0L);
+	}
+	
+	public boolean isOccupied(int id) {
+		return (bits[id >>> 6] & (1L << id)) != 0;
+	}
+	
+	public long getFingerprint() {
+		return fingerprint;
+	}
+	
+	// Bitmap read by the target searches; never modified
+	long[] getBits() {
+		return bits;
+	}
+}
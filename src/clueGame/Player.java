@@ -4,18 +4,29 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public abstract class Player {
     private String name;
     private Color color;
+    private String colorName;
     private int row;
     private int col;
     protected List<Card> hand;
+    // The hand as a mask of card ids, used while every card in hand fits in a mask of one registry
+    private long handMask;
+    private boolean handMasked = true;
+    private CardRegistry handRegistry;
+    private Card[] handById;
+    private PlayerMoveListener moveListener;
+    private PlayerHandListener handListener;
+    // Place in the game's turn order, or -1 before the player joins a game
+    private int seat = -1;
+    protected GameRandom random = new GameRandom();
 
     public Player(String name, String colorStr, int row, int col) {
         this.name = name;
         this.color = parseColor(colorStr);
+        this.colorName = colorStr;
         this.row = row;
         this.col = col;
         this.hand = new ArrayList<>();
@@ -35,10 +46,40 @@ public abstract class Player {
 
     public void updateHand(Card card) {
         hand.add(card);
+        if (handRegistry == null) {
+            handRegistry = card.getRegistry();
+        }
+        if (!card.fitsInMask() || card.getRegistry() != handRegistry) {
+            handMasked = false;
+        } else {
+            if (handById == null) {
+                handById = new Card[Card.MAX_IDS];
+            }
+            handById[card.getId()] = card;
+            handMask |= card.getMask();
+        }
+        if (handListener != null) {
+            handListener.cardAdded(this, card);
+        }
     }
     
     // Try to disprove suggestion with cards in hand, return matching card or null (random if multiple)
     public Card disproveSuggestion(Solution suggestion) {
+        // With ids of one registry on both sides the matches are one AND, and the pick one
+        // random bit of it
+        long suggestionMask = suggestion.getCardMask();
+        if (handMasked && suggestionMask != 0 && suggestion.getCardRegistry() == handRegistry) {
+            long matches = handMask & suggestionMask;
+            if (matches == 0) {
+                return null;
+            }
+            int count = Long.bitCount(matches);
+            for (int skip = count > 1 ? random.nextInt(count) : 0; skip > 0; skip--) {
+                matches &= matches - 1;
+            }
+            return handById[Long.numberOfTrailingZeros(matches)];
+        }
+        
         List<Card> matchingCards = new ArrayList<>();
         
         // Check each card in hand for a match
@@ -61,11 +102,33 @@ public abstract class Player {
         }
         
         // If multiple matching cards, choose randomly
-        Random rand = new Random();
-        int randomIndex = rand.nextInt(matchingCards.size());
+        int randomIndex = random.nextInt(matchingCards.size());
         return matchingCards.get(randomIndex);
     }
 
+    // Check for a card in hand, by id when the card and the whole hand fit in a mask of one registry
+    public boolean hasInHand(Card card) {
+        if (handMasked && card.fitsInMask() && card.getRegistry() == handRegistry) {
+            return (handMask & card.getMask()) != 0;
+        }
+        return hand.contains(card);
+    }
+
+    // Mask of the cards in hand that fit in a mask, in the ids of getHandRegistry
+    public long getHandMask() {
+        return handMask;
+    }
+
+    // Registry of the first card dealt with an id, or null
+    public CardRegistry getHandRegistry() {
+        return handRegistry;
+    }
+
+    // Source of this player's random choices, so a seeded game can be replayed
+    public void setRandom(GameRandom random) {
+        this.random = random;
+    }
+
     // Getters
     public String getName() {
         return name;
@@ -75,6 +138,11 @@ public abstract class Player {
         return color;
     }
 
+    // Color as written in the setup file
+    public String getColorName() {
+        return colorName;
+    }
+
     public int getRow() {
         return row;
     }
@@ -85,8 +153,34 @@ public abstract class Player {
     
     // Setter for position (used when moving player)
     public void setPosition(int row, int col) {
+        int oldRow = this.row;
+        int oldCol = this.col;
         this.row = row;
         this.col = col;
+        if (moveListener != null) {
+            moveListener.playerMoved(this, oldRow, oldCol);
+        }
+    }
+    
+    // Listener told about every position change (the board uses it to track occupancy)
+    public void setMoveListener(PlayerMoveListener listener) {
+        this.moveListener = listener;
+    }
+    
+    public PlayerMoveListener getMoveListener() {
+        return moveListener;
+    }
+
+    public void setHandListener(PlayerHandListener listener) {
+        this.handListener = listener;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    void setSeat(int seat) {
+        this.seat = seat;
     }
 
     // For testing
@@ -0,0 +1,6 @@
+package clueGame;
+
+// Notified after a card is added to a player's hand
+public interface PlayerHandListener {
+    void cardAdded(Player player, Card card);
+}
@@ -0,0 +1,6 @@
+package clueGame;
+
+// Notified after a player's position changes
+public interface PlayerMoveListener {
+    void playerMoved(Player player, int oldRow, int oldCol);
+}
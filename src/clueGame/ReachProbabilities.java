@@ -0,0 +1,160 @@
+package clueGame;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+// Probability of reaching each room within k turns from any cell, rolling one six-sided die
+// per turn and choosing the best target each time. Uses the movement rules of calcTargets on
+// the empty board. A roll that reaches the room center succeeds; otherwise the player moves to
+// the target with the best chance over the remaining turns, or stays put if there is none.
+// Standing in the room already counts as reached.
+public class ReachProbabilities {
+	public static final int DIE_SIDES = 6;
+	// Ranges at or below this size are computed without splitting further
+	private static final int SPLIT_THRESHOLD = 32;
+	
+	private final int numCells;
+	private final int maxTurns;
+	private final int[] centerIds;
+	// centerIndex[id] is the room index of a room center, or -1
+	private final int[] centerIndex;
+	// probabilities[room][turns][id], turns from 0 to maxTurns
+	private final float[][][] probabilities;
+	
+	private ReachProbabilities(int numCells, int maxTurns, int[] centerIds, int[] centerIndex) {
+		this.numCells = numCells;
+		this.maxTurns = maxTurns;
+		this.centerIds = centerIds;
+		this.centerIndex = centerIndex;
+		this.probabilities = new float[centerIds.length][maxTurns + 1][];
+	}
+	
+	// Build the tables for 0..maxTurns turns, optionally spreading the work over the common fork/join pool
+	public static ReachProbabilities compute(Board board, int maxTurns, boolean parallel) {
+		BoardGraph graph = board.getGraph();
+		int numCells = graph.getNumCells();
+		int[] centerIndex = new int[numCells];
+		int numCenters = 0;
+		for (int id = 0; id < numCells; id++) {
+			centerIndex[id] = graph.isRoomCenter(id) ? numCenters++ : -1;
+		}
+		int[] centerIds = new int[numCenters];
+		for (int id = 0; id < numCells; id++) {
+			if (centerIndex[id] >= 0) {
+				centerIds[centerIndex[id]] = id;
+			}
+		}
+		ReachProbabilities table = new ReachProbabilities(numCells, maxTurns, centerIds, centerIndex);
+		
+		// targets[id][roll] = ids reachable with that roll; one batch traversal per cell
+		int[][][] targets = new int[numCells][][];
+		OccupancySnapshot empty = OccupancySnapshot.empty(numCells);
+		run(numCells, parallel, id -> {
+			if (graph.getDegree(id) == 0) {
+				return;
+			}
+			RollTargets rolls = board.findTargetsForRolls(graph.getCell(id), DIE_SIDES, empty);
+			targets[id] = new int[DIE_SIDES + 1][];
+			for (int roll = 1; roll <= DIE_SIDES; roll++) {
+				Set<BoardCell> cells = rolls.getTargets(roll).getTargets();
+				int[] ids = new int[cells.size()];
+				int i = 0;
+				for (BoardCell cell : cells) {
+					ids[i++] = cell.getId();
+				}
+				targets[id][roll] = ids;
+			}
+		});
+		
+		// Rooms are independent, so each one is a separate task
+		run(numCenters, parallel, room -> table.fillRoom(room, targets));
+		return table;
+	}
+	
+	// Dynamic program over the number of turns left for one room
+	private void fillRoom(int room, int[][][] targets) {
+		int center = centerIds[room];
+		float[] previous = new float[numCells];
+		previous[center] = 1f;
+		probabilities[room][0] = previous;
+		for (int turns = 1; turns <= maxTurns; turns++) {
+			float[] current = new float[numCells];
+			current[center] = 1f;
+			for (int id = 0; id < numCells; id++) {
+				if (id == center || targets[id] == null) {
+					continue;
+				}
+				float total = 0f;
+				for (int roll = 1; roll <= DIE_SIDES; roll++) {
+					int[] ids = targets[id][roll];
+					float best = ids.length == 0 ? previous[id] : 0f;
+					for (int target : ids) {
+						if (target == center) {
+							best = 1f;
+							break;
+						}
+						best = Math.max(best, previous[target]);
+					}
+					total += best;
+				}
+				current[id] = total / DIE_SIDES;
+			}
+			probabilities[room][turns] = current;
+			previous = current;
+		}
+	}
+	
+	// Apply the action to every index below count, in parallel when asked
+	private static void run(int count, boolean parallel, IntConsumer action) {
+		if (!parallel) {
+			for (int i = 0; i < count; i++) {
+				action.accept(i);
+			}
+			return;
+		}
+		ForkJoinPool.commonPool().invoke(new RangeTask(0, count, action));
+	}
+	
+	private static class RangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+		private final IntConsumer action;
+		
+		RangeTask(int from, int to, IntConsumer action) {
+			this.from = from;
+			this.to = to;
+			this.action = action;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from <= SPLIT_THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					action.accept(i);
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+		}
+	}
+	
+	public int getMaxTurns() {
+		return maxTurns;
+	}
+	
+	// Probability of reaching the room with the given center within the number of turns
+	public double getProbability(int cellId, int centerId, int turns) {
+		int room = centerIndex[centerId];
+		if (room < 0) {
+			throw new IllegalArgumentException("Cell " + centerId + " is not a room center");
+		}
+		if (turns < 0 || turns > maxTurns) {
+			throw new IllegalArgumentException("Turns must be between 0 and " + maxTurns);
+		}
+		return probabilities[room][turns][cellId];
+	}
+}
@@ -0,0 +1,68 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Immutable movement targets from one start cell for every roll 1..maxRoll,
+// computed together by a single traversal.
+public final class RollTargets {
+	private final BoardCell startCell;
+	private final TargetResult[] results;
+	
+	private RollTargets(BoardCell startCell, TargetResult[] results) {
+		this.startCell = startCell;
+		this.results = results;
+	}
+	
+	// Split the per-cell roll masks of the last searchAllRolls into one result per roll
+	static RollTargets fromSearch(BoardCell startCell, int maxRoll, BoardGraph graph, StampedTargetSearch search) {
+		int count = search.getTargetCount();
+		// Indexed by roll, with nothing at 0
+		List<Set<BoardCell>> targets = new ArrayList<>(maxRoll + 1);
+		for (int roll = 0; roll <= maxRoll; roll++) {
+			targets.add(roll == 0 ? null : new HashSet<>());
+		}
+		for (int i = 0; i < count; i++) {
+			int id = search.getTargetId(i);
+			long rolls = search.getRollMask(id);
+			BoardCell cell = graph.getCell(id);
+			while (rolls != 0) {
+				targets.get(Long.numberOfTrailingZeros(rolls)).add(cell);
+				rolls &= rolls - 1;
+			}
+		}
+		
+		TargetResult[] results = new TargetResult[maxRoll + 1];
+		for (int roll = 1; roll <= maxRoll; roll++) {
+			results[roll] = new TargetResult(startCell, roll, targets.get(roll));
+		}
+		return new RollTargets(startCell, results);
+	}
+	
+	// Targets when nothing is reachable, e.g. for a cell that is not on the board
+	static RollTargets empty(BoardCell startCell, int maxRoll) {
+		TargetResult[] results = new TargetResult[Math.max(maxRoll, 0) + 1];
+		for (int roll = 1; roll <= maxRoll; roll++) {
+			results[roll] = new TargetResult(startCell, roll, new HashSet<BoardCell>());
+		}
+		return new RollTargets(startCell, results);
+	}
+	
+	public BoardCell getStartCell() {
+		return startCell;
+	}
+	
+	public int getMaxRoll() {
+		return results.length - 1;
+	}
+	
+	// Targets for the given roll, between 1 and getMaxRoll
+	public TargetResult getTargets(int roll) {
+		if (roll < 1 || roll >= results.length) {
+			throw new IllegalArgumentException("Roll " + roll + " is outside 1.." + getMaxRoll());
+		}
+		return results[roll];
+	}
+}
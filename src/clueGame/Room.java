@@ -10,6 +10,8 @@ public class Room {
 	private BoardCell centerCell;
 	private BoardCell labelCell;
 	private String type;
+	// Rooms of a BoardTopology are shared by its games and refuse every change
+	private boolean readOnly;
 	
 	public Room() {
 		this.name = "";
@@ -20,12 +22,27 @@ public class Room {
 		this.name = name;
 		this.type = Type;
 	}
+	
+	// Read-only copy of a loaded room, with its cells swapped for the given ones
+	Room(Room room, BoardCell centerCell, BoardCell labelCell) {
+		this(room.name, room.type);
+		this.centerCell = centerCell;
+		this.labelCell = labelCell;
+		this.readOnly = true;
+	}
+	
+	private void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Room " + name + " belongs to a shared topology");
+		}
+	}
 
 	public String getName() {
 		return name;
 	}
 	
 	public void setName(String name) {
+		checkWritable();
 		this.name = name;
 	}
 
@@ -34,6 +51,7 @@ public class Room {
 	}
 	
 	public void setCenterCell(BoardCell cell) {
+		checkWritable();
 		this.centerCell = cell;
 	}
 
@@ -42,6 +60,7 @@ public class Room {
 	}
 	
 	public void setLabelCell(BoardCell cell) {
+		checkWritable();
 		this.labelCell = cell;
 	}
 	
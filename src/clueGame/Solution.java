@@ -4,11 +4,30 @@ public class Solution {
     private Card person;
     private Card weapon;
     private Card room;
+    // Mask of the three cards, or 0 unless all three fit in a mask of one registry
+    private final long cardMask;
+    private final CardRegistry cardRegistry;
 
     public Solution(Card person, Card weapon, Card room) {
         this.person = person;
         this.weapon = weapon;
         this.room = room;
+        CardRegistry registry = person != null ? person.getRegistry() : null;
+        boolean sameIds = registry != null && weapon != null && room != null
+                && weapon.getRegistry() == registry && room.getRegistry() == registry;
+        boolean masked = sameIds && person.fitsInMask() && weapon.fitsInMask() && room.fitsInMask();
+        this.cardRegistry = masked ? registry : null;
+        this.cardMask = masked ? person.getMask() | weapon.getMask() | room.getMask() : 0;
+    }
+
+    // Mask of the person, weapon and room cards; 0 unless all three fit in a mask of one registry
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    // Registry of the ids in getCardMask, or null when the mask is 0
+    public CardRegistry getCardRegistry() {
+        return cardRegistry;
     }
 
     public Card getPerson() {
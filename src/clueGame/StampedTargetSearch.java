@@ -0,0 +1,218 @@
+package clueGame;
+
+import java.util.Arrays;
+
+// Backtracking target search that allocates nothing per query. Visited and target marks
+// are int stamps compared against a generation counter that advances on every search,
+// so nothing has to be cleared between searches, and targets are written as cell ids
+// into a buffer that is reused by the next search. Each search also records, with a stamp of its
+// own, every cell whose occupancy it tested: flipping any other cell cannot change its targets.
+public class StampedTargetSearch {
+	// Largest roll searchAllRolls can record; rolls are kept as bits of a long per cell
+	public static final int MAX_BATCH_ROLL = 63;
+	
+	private final BoardGraph graph;
+	private final Occupancy occupancy;
+	// Occupancy bitmap read by the current search, either live or from a snapshot
+	private long[] occupied;
+	private final int[] visitedStamp;
+	private final int[] targetStamp;
+	private final int[] touchedStamp;
+	private final int[] targetIds;
+	private final int[] touchedIds;
+	private final long[] rollMasks;
+	private int targetCount;
+	private int touchedCount;
+	private int generation;
+	private boolean rollsRecorded;
+	
+	public StampedTargetSearch(BoardGraph graph, Occupancy occupancy) {
+		this.graph = graph;
+		this.occupancy = occupancy;
+		int numCells = graph.getNumCells();
+		visitedStamp = new int[numCells];
+		targetStamp = new int[numCells];
+		touchedStamp = new int[numCells];
+		targetIds = new int[numCells];
+		touchedIds = new int[numCells];
+		rollMasks = new long[numCells];
+	}
+	
+	// Find targets from the start cell id against the live occupancy and return how many were found
+	public int search(int startId, int pathLength) {
+		return search(startId, pathLength, occupancy.getBits());
+	}
+	
+	// Find targets with the occupancy frozen in a snapshot
+	public int search(int startId, int pathLength, OccupancySnapshot snapshot) {
+		return search(startId, pathLength, snapshot.getBits());
+	}
+	
+	private int search(int startId, int pathLength, long[] occupiedBits) {
+		occupied = occupiedBits;
+		nextGeneration();
+		targetCount = 0;
+		touchedCount = 0;
+		rollsRecorded = false;
+		if (startId < 0 || startId >= graph.getNumCells()) {
+			return 0;
+		}
+		visitedStamp[startId] = generation;
+		findAllTargets(startId, pathLength);
+		return targetCount;
+	}
+	
+	// Same rules as Board.findAllTargets
+	private void findAllTargets(int id, int numSteps) {
+		for (int i = graph.getNeighborStart(id); i < graph.getNeighborEnd(id); i++) {
+			int adj = graph.getNeighbor(i);
+			if (visitedStamp[adj] == generation) {
+				continue;
+			}
+			boolean roomCenter = graph.isRoomCenter(adj);
+			if (!roomCenter) {
+				touch(adj);
+				if ((occupied[adj >>> 6] & (1L << adj)) != 0) {
+					continue;
+				}
+			}
+			
+			visitedStamp[adj] = generation;
+			if (numSteps == 1 || roomCenter) {
+				if (targetStamp[adj] != generation) {
+					targetStamp[adj] = generation;
+					targetIds[targetCount++] = adj;
+				}
+			} else {
+				findAllTargets(adj, numSteps - 1);
+			}
+			visitedStamp[adj] = 0;
+		}
+	}
+	
+	// Find targets for every roll 1..maxRoll in one traversal and return how many cells are a
+	// target for at least one roll. The search for roll r visits exactly the paths of at most r
+	// steps, which are all prefixes of the paths explored for maxRoll, so one depth-first pass
+	// records every roll: a walkway reached after d steps is a target for roll d, and a room
+	// center reached after d steps is a target for every roll from d up.
+	public int searchAllRolls(int startId, int maxRoll) {
+		return searchAllRolls(startId, maxRoll, occupancy.getBits());
+	}
+	
+	// Batch search with the occupancy frozen in a snapshot
+	public int searchAllRolls(int startId, int maxRoll, OccupancySnapshot snapshot) {
+		return searchAllRolls(startId, maxRoll, snapshot.getBits());
+	}
+	
+	private int searchAllRolls(int startId, int maxRoll, long[] occupiedBits) {
+		occupied = occupiedBits;
+		if (maxRoll > MAX_BATCH_ROLL) {
+			throw new IllegalArgumentException("Rolls above " + MAX_BATCH_ROLL + " cannot be batched");
+		}
+		nextGeneration();
+		targetCount = 0;
+		touchedCount = 0;
+		rollsRecorded = true;
+		if (startId < 0 || startId >= graph.getNumCells() || maxRoll < 1) {
+			return 0;
+		}
+		visitedStamp[startId] = generation;
+		findTargetsByRoll(startId, 1, maxRoll);
+		return targetCount;
+	}
+	
+	private void findTargetsByRoll(int id, int step, int maxRoll) {
+		for (int i = graph.getNeighborStart(id); i < graph.getNeighborEnd(id); i++) {
+			int adj = graph.getNeighbor(i);
+			if (visitedStamp[adj] == generation) {
+				continue;
+			}
+			boolean roomCenter = graph.isRoomCenter(adj);
+			if (!roomCenter) {
+				touch(adj);
+				if ((occupied[adj >>> 6] & (1L << adj)) != 0) {
+					continue;
+				}
+			}
+			
+			visitedStamp[adj] = generation;
+			if (roomCenter) {
+				// Bits step..maxRoll
+				addRolls(adj, (-1L >>> (63 - maxRoll)) & (-1L << step));
+			} else {
+				addRolls(adj, 1L << step);
+				if (step < maxRoll) {
+					findTargetsByRoll(adj, step + 1, maxRoll);
+				}
+			}
+			visitedStamp[adj] = 0;
+		}
+	}
+	
+	private void addRolls(int id, long rolls) {
+		if (targetStamp[id] != generation) {
+			targetStamp[id] = generation;
+			rollMasks[id] = 0;
+			targetIds[targetCount++] = id;
+		}
+		rollMasks[id] |= rolls;
+	}
+	
+	// Rolls for which a target of the last searchAllRolls is reachable, as bit r for roll r
+	public long getRollMask(int id) {
+		return rollsRecorded && targetStamp[id] == generation ? rollMasks[id] : 0;
+	}
+	
+	// Record that the search tested the occupancy of the cell
+	private void touch(int id) {
+		if (touchedStamp[id] != generation) {
+			touchedStamp[id] = generation;
+			touchedIds[touchedCount++] = id;
+		}
+	}
+	
+	// Number of cells whose occupancy the last search tested
+	public int getTouchedCount() {
+		return touchedCount;
+	}
+	
+	// Cell id at the given index of the cells the last search tested
+	public int getTouchedId(int index) {
+		return touchedIds[index];
+	}
+	
+	// Buffer behind getTouchedId, reused by the next search
+	int[] getTouchedIds() {
+		return touchedIds;
+	}
+	
+	// Stamps only need to differ from the current generation; reset them when the counter wraps
+	private void nextGeneration() {
+		if (generation == Integer.MAX_VALUE) {
+			Arrays.fill(visitedStamp, 0);
+			Arrays.fill(targetStamp, 0);
+			Arrays.fill(touchedStamp, 0);
+			generation = 0;
+		}
+		generation++;
+	}
+	
+	public BoardGraph getGraph() {
+		return graph;
+	}
+	
+	// Number of targets found by the last search
+	public int getTargetCount() {
+		return targetCount;
+	}
+	
+	// Cell id of the target at the given index, in discovery order
+	public int getTargetId(int index) {
+		return targetIds[index];
+	}
+	
+	// Check whether a cell id was a target of the last search
+	public boolean isTarget(int id) {
+		return id >= 0 && id < targetStamp.length && targetStamp[id] == generation && generation != 0;
+	}
+}
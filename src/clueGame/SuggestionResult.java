@@ -0,0 +1,15 @@
+package clueGame;
+
+// The card that disproved a suggestion and the player who showed it
+public class SuggestionResult {
+    private Card card;
+    private Player player;
+
+    public SuggestionResult(Card card, Player player) {
+        this.card = card;
+        this.player = player;
+    }
+
+    public Card getCard() { return card; }
+    public Player getPlayer() { return player; }
+}
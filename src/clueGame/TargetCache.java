@@ -0,0 +1,236 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bounded LRU cache of movement targets keyed by start cell id, path length and occupancy fingerprint.
+// Stored sets are immutable so they can be handed out without copying. Entries can remember which
+// cells their search tested; those for the current occupancy are kept live, under no fingerprint,
+// and indexed by the cells they tested. When one cell flips, only the live entries that tested it
+// are visited: they move under the fingerprint they were computed for, and every other live entry
+// is still correct for the new occupancy without being touched.
+public class TargetCache implements OccupancyListener {
+	private final int capacity;
+	private final LinkedHashMap<Key, CachedTargets> entries;
+	// Keys of the live entries that tested each cell, indexed by cell id
+	private final List<Set<Key>> dependents = new ArrayList<>();
+	// Fingerprint the live entries were computed for, while there are any
+	private long liveFingerprint;
+	private int liveCount;
+	private long hits;
+	private long misses;
+	private long migrated;
+	
+	public TargetCache(int capacity) {
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<Key, CachedTargets>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CachedTargets> eldest) {
+				if (size() <= TargetCache.this.capacity) {
+					return false;
+				}
+				if (eldest.getKey().live) {
+					unindex(eldest.getKey(), eldest.getValue());
+				}
+				return true;
+			}
+		};
+	}
+	
+	// Return cached targets or null, counting the hit or miss
+	public Set<BoardCell> get(int cellId, int pathLength, long fingerprint) {
+		CachedTargets entry = null;
+		if (liveCount > 0 && fingerprint == liveFingerprint) {
+			entry = entries.get(Key.live(cellId, pathLength));
+		}
+		if (entry == null) {
+			Key key = new Key(cellId, pathLength, fingerprint);
+			entry = entries.get(key);
+			// The occupancy is back to what an entry was computed for; make it live again
+			if (entry != null && entry.touched != null && (liveCount == 0 || fingerprint == liveFingerprint)) {
+				entries.remove(key);
+				putLive(cellId, pathLength, fingerprint, entry);
+			}
+		}
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.targets;
+	}
+	
+	// Store an immutable copy of the targets and return it; the entry is never migrated
+	public Set<BoardCell> put(int cellId, int pathLength, long fingerprint, Set<BoardCell> targets) {
+		return put(cellId, pathLength, fingerprint, targets, null, 0);
+	}
+	
+	// Store an immutable copy of the targets along with the first touchedCount ids of touched,
+	// the only cells whose occupancy the search depended on; touched may be null
+	public Set<BoardCell> put(int cellId, int pathLength, long fingerprint, Set<BoardCell> targets, int[] touched, int touchedCount) {
+		Set<BoardCell> stored = Collections.unmodifiableSet(new HashSet<>(targets));
+		if (touched == null) {
+			entries.put(new Key(cellId, pathLength, fingerprint), new CachedTargets(stored, null));
+		} else {
+			putLive(cellId, pathLength, fingerprint, new CachedTargets(stored, Arrays.copyOf(touched, touchedCount)));
+		}
+		return stored;
+	}
+	
+	private void putLive(int cellId, int pathLength, long fingerprint, CachedTargets entry) {
+		if (liveCount > 0 && fingerprint != liveFingerprint) {
+			// Occupancy changed without telling the cache; the live entries belong to the old state
+			retireLive();
+		}
+		liveFingerprint = fingerprint;
+		Key key = Key.live(cellId, pathLength);
+		CachedTargets old = entries.remove(key);
+		if (old != null) {
+			unindex(key, old);
+		}
+		// Index before storing, so an entry evicted at once is unindexed cleanly
+		for (int id : entry.touched) {
+			while (dependents.size() <= id) {
+				dependents.add(null);
+			}
+			Set<Key> keys = dependents.get(id);
+			if (keys == null) {
+				keys = new HashSet<>();
+				dependents.set(id, keys);
+			}
+			keys.add(key);
+		}
+		liveCount++;
+		entries.put(key, entry);
+	}
+	
+	private void unindex(Key key, CachedTargets entry) {
+		for (int id : entry.touched) {
+			dependents.get(id).remove(key);
+		}
+		liveCount--;
+	}
+	
+	// Move a live entry under the fingerprint it was computed for. An entry already stored for
+	// that state is kept instead.
+	private void retire(Key key, long fingerprint) {
+		CachedTargets entry = entries.remove(key);
+		unindex(key, entry);
+		entries.putIfAbsent(new Key(key.cellId, key.pathLength, fingerprint), entry);
+	}
+	
+	private void retireLive() {
+		List<Key> liveKeys = new ArrayList<>();
+		for (Key key : entries.keySet()) {
+			if (key.live) {
+				liveKeys.add(key);
+			}
+		}
+		for (Key key : liveKeys) {
+			retire(key, liveFingerprint);
+		}
+	}
+	
+	// Retire the live entries that tested the flipped cell; the others stay live and so carry
+	// over to the new fingerprint
+	@Override
+	public void occupancyChanged(int cellId, long oldFingerprint, long newFingerprint) {
+		if (liveCount == 0) {
+			return;
+		}
+		if (oldFingerprint != liveFingerprint) {
+			retireLive();
+			return;
+		}
+		if (cellId < dependents.size() && dependents.get(cellId) != null && !dependents.get(cellId).isEmpty()) {
+			for (Key key : new ArrayList<>(dependents.get(cellId))) {
+				retire(key, oldFingerprint);
+			}
+		}
+		migrated += liveCount;
+		liveFingerprint = newFingerprint;
+	}
+	
+	public void clear() {
+		entries.clear();
+		dependents.clear();
+		liveCount = 0;
+	}
+	
+	public int size() {
+		return entries.size();
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public long getHits() {
+		return hits;
+	}
+	
+	public long getMisses() {
+		return misses;
+	}
+	
+	// Number of entries carried over to a new occupancy fingerprint
+	public long getMigrated() {
+		return migrated;
+	}
+	
+	// Cached targets and the ids of the cells the search tested, or null if not known
+	private static final class CachedTargets {
+		private final Set<BoardCell> targets;
+		private final int[] touched;
+		
+		CachedTargets(Set<BoardCell> targets, int[] touched) {
+			this.targets = targets;
+			this.touched = touched;
+		}
+	}
+	
+	private static final class Key {
+		private final int cellId;
+		private final int pathLength;
+		private final long fingerprint;
+		// Live keys stand for the current occupancy and ignore the fingerprint
+		private final boolean live;
+		
+		Key(int cellId, int pathLength, long fingerprint) {
+			this(cellId, pathLength, fingerprint, false);
+		}
+		
+		private Key(int cellId, int pathLength, long fingerprint, boolean live) {
+			this.cellId = cellId;
+			this.pathLength = pathLength;
+			this.fingerprint = fingerprint;
+			this.live = live;
+		}
+		
+		static Key live(int cellId, int pathLength) {
+			return new Key(cellId, pathLength, 0L, true);
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			Key other = (Key) o;
+			return cellId == other.cellId && pathLength == other.pathLength && fingerprint == other.fingerprint
+					&& live == other.live;
+		}
+		
+		@Override
+		public int hashCode() {
+			int h = cellId * 31 + pathLength;
+			h = h * 31 + Long.hashCode(fingerprint);
+			return live ? ~h : h;
+		}
+	}
+}
@@ -0,0 +1,6 @@
+package clueGame;
+
+// Search used by Board.calcTargets to find movement targets
+public enum TargetMode {
+    BACKTRACKING, BITSET, STAMPED
+}
@@ -0,0 +1,54 @@
+package clueGame;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+// Immutable result of a movement query. Safe to share between threads and to keep
+// after later queries, unlike the set returned by Board.getTargets.
+public final class TargetResult {
+	private final BoardCell startCell;
+	private final int pathLength;
+	private final Set<BoardCell> targets;
+	
+	TargetResult(BoardCell startCell, int pathLength, Set<BoardCell> targets) {
+		this.startCell = startCell;
+		this.pathLength = pathLength;
+		this.targets = Collections.unmodifiableSet(targets);
+	}
+	
+	// Copy the targets of the last search out of a search's reusable buffer
+	static TargetResult fromSearch(BoardCell startCell, int pathLength, BoardGraph graph, StampedTargetSearch search) {
+		int count = search.getTargetCount();
+		Set<BoardCell> targets = new HashSet<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			targets.add(graph.getCell(search.getTargetId(i)));
+		}
+		return new TargetResult(startCell, pathLength, targets);
+	}
+	
+	public BoardCell getStartCell() {
+		return startCell;
+	}
+	
+	public int getPathLength() {
+		return pathLength;
+	}
+	
+	// Read-only set of target cells
+	public Set<BoardCell> getTargets() {
+		return targets;
+	}
+	
+	public boolean contains(BoardCell cell) {
+		return targets.contains(cell);
+	}
+	
+	public int size() {
+		return targets.size();
+	}
+	
+	public boolean isEmpty() {
+		return targets.isEmpty();
+	}
+}
@@ -0,0 +1,161 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Plays many computer-only games on one shared topology, spread over a pool of worker threads,
+// and adds up their results. Each game has its own GameState and a seed worked out from the
+// tournament seed and the game's number, so the totals for a seed are the same whatever the
+// thread count. Workers keep their own totals and hand them in every reportInterval games,
+// when the progress consumer is given a copy of everything counted so far.
+// Usage: Tournament [games [seed [threads]]]
+public class Tournament {
+	public static final int DEFAULT_MAX_TURNS = 10000;
+	public static final int DEFAULT_REPORT_INTERVAL = 1000;
+	private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+	private final BoardTopology topology;
+	private final long seed;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int maxTurns = DEFAULT_MAX_TURNS;
+	private int reportInterval = DEFAULT_REPORT_INTERVAL;
+
+	public Tournament(BoardTopology topology, long seed) {
+		this.topology = topology;
+		this.seed = seed;
+	}
+
+	public static void main(String[] args) throws Exception {
+		long games = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+		BoardTopology topology = BoardTopology.load("ClueLayout.csv", "ClueSetup.txt");
+		Tournament tournament = new Tournament(topology, seed);
+		if (args.length > 2) {
+			tournament.setThreads(Integer.parseInt(args[2]));
+		}
+		long start = System.nanoTime();
+		TournamentStats stats = tournament.run(games, progress ->
+				System.out.println(progress.getGames() + " games, " + progress.getGamesWithoutWinner() + " without a winner"));
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(stats);
+		System.out.printf("%.1f s, %.0f games per second on %d threads%n", seconds, games / seconds, tournament.getThreads());
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Need at least one thread: " + threads);
+		}
+		this.threads = threads;
+	}
+
+	// Turns after which a game is stopped without a winner
+	public void setMaxTurns(int maxTurns) {
+		this.maxTurns = maxTurns;
+	}
+
+	// Games each worker plays between hand-ins of its totals
+	public void setReportInterval(int reportInterval) {
+		if (reportInterval < 1) {
+			throw new IllegalArgumentException("Report interval must be positive: " + reportInterval);
+		}
+		this.reportInterval = reportInterval;
+	}
+
+	// Seed for the given game of this tournament
+	public long getGameSeed(long game) {
+		return new SplittableRandom(seed + game * SEED_STEP).nextLong();
+	}
+
+	// Play the given number of games and return the totals; progress, if not null, is called
+	// with the totals so far, one call at a time
+	public TournamentStats run(long games, Consumer<TournamentStats> progress) throws InterruptedException {
+		TournamentStats total = newStats();
+		AtomicLong nextGame = new AtomicLong();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				workers.add(pool.submit(() -> {
+					TournamentStats local = newStats();
+					for (long game = nextGame.getAndIncrement(); game < games; game = nextGame.getAndIncrement()) {
+						playGame(getGameSeed(game), local);
+						if (local.getGames() == reportInterval) {
+							handIn(local, total, progress);
+							local = newStats();
+						}
+					}
+					if (local.getGames() > 0) {
+						handIn(local, total, progress);
+					}
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Tournament game failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return total;
+	}
+
+	private static void handIn(TournamentStats local, TournamentStats total, Consumer<TournamentStats> progress) {
+		synchronized (total) {
+			total.merge(local);
+			if (progress != null) {
+				progress.accept(total.copy());
+			}
+		}
+	}
+
+	private TournamentStats newStats() {
+		return new TournamentStats(topology.getPersonNames());
+	}
+
+	// Play one game from its seed and count it in stats
+	public void playGame(long gameSeed, TournamentStats stats) {
+		GameState game = topology.newComputerGame();
+		game.setRandom(new GameRandom(gameSeed));
+		game.dealCards();
+
+		GameEngine engine = new GameEngine(game);
+		GameCounter counter = new GameCounter();
+		engine.addListener(counter);
+		Player winner = engine.play(maxTurns);
+
+		int seat = winner != null ? winner.getSeat() : -1;
+		stats.record(seat, engine.getTurnCount(), counter.suggestions, counter.accusations, counter.correctAccusations);
+	}
+
+	// Counts the suggestions and accusations of one game
+	private static class GameCounter implements GameListener {
+		private int suggestions;
+		private int accusations;
+		private int correctAccusations;
+
+		@Override
+		public void suggestionMade(Player player, Solution suggestion) {
+			suggestions++;
+		}
+
+		@Override
+		public void accusationMade(Player player, Solution accusation, boolean correct) {
+			accusations++;
+			if (correct) {
+				correctAccusations++;
+			}
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Totals over the games of a tournament: wins for each seat, game lengths and how often
+// accusations were right. Seats are the persons of the setup file, in file order. Every
+// count is a whole number, so the totals are the same however the games were spread over
+// the worker threads.
+public class TournamentStats {
+	private final List<String> seatNames;
+	private final long[] wins;
+	private long games;
+	private long gamesWithoutWinner;
+	private long totalTurns;
+	private int minTurns = Integer.MAX_VALUE;
+	private int maxTurns;
+	private long suggestions;
+	private long accusations;
+	private long correctAccusations;
+
+	TournamentStats(List<String> seatNames) {
+		this.seatNames = Collections.unmodifiableList(new ArrayList<>(seatNames));
+		this.wins = new long[seatNames.size()];
+	}
+
+	// Count one finished game; winningSeat is -1 if nobody won
+	void record(int winningSeat, int turns, int gameSuggestions, int gameAccusations, int gameCorrectAccusations) {
+		games++;
+		if (winningSeat >= 0) {
+			wins[winningSeat]++;
+		} else {
+			gamesWithoutWinner++;
+		}
+		totalTurns += turns;
+		minTurns = Math.min(minTurns, turns);
+		maxTurns = Math.max(maxTurns, turns);
+		suggestions += gameSuggestions;
+		accusations += gameAccusations;
+		correctAccusations += gameCorrectAccusations;
+	}
+
+	// Add the games counted in other to these totals
+	void merge(TournamentStats other) {
+		games += other.games;
+		for (int seat = 0; seat < wins.length; seat++) {
+			wins[seat] += other.wins[seat];
+		}
+		gamesWithoutWinner += other.gamesWithoutWinner;
+		totalTurns += other.totalTurns;
+		minTurns = Math.min(minTurns, other.minTurns);
+		maxTurns = Math.max(maxTurns, other.maxTurns);
+		suggestions += other.suggestions;
+		accusations += other.accusations;
+		correctAccusations += other.correctAccusations;
+	}
+
+	// Independent copy of the current totals
+	TournamentStats copy() {
+		TournamentStats copy = new TournamentStats(seatNames);
+		copy.merge(this);
+		return copy;
+	}
+
+	public List<String> getSeatNames() {
+		return seatNames;
+	}
+
+	public long getGames() {
+		return games;
+	}
+
+	public long getWins(int seat) {
+		return wins[seat];
+	}
+
+	// Share of all games won from the seat, 0 before any game
+	public double getWinRate(int seat) {
+		return games == 0 ? 0 : (double) wins[seat] / games;
+	}
+
+	// Games stopped at the turn limit before anyone accused correctly
+	public long getGamesWithoutWinner() {
+		return gamesWithoutWinner;
+	}
+
+	public long getTotalTurns() {
+		return totalTurns;
+	}
+
+	public double getAverageTurns() {
+		return games == 0 ? 0 : (double) totalTurns / games;
+	}
+
+	// Shortest game in turns, 0 before any game
+	public int getMinTurns() {
+		return games == 0 ? 0 : minTurns;
+	}
+
+	public int getMaxTurns() {
+		return maxTurns;
+	}
+
+	public long getSuggestions() {
+		return suggestions;
+	}
+
+	public long getAccusations() {
+		return accusations;
+	}
+
+	public long getCorrectAccusations() {
+		return correctAccusations;
+	}
+
+	// Share of accusations that were correct, 0 before any accusation
+	public double getAccusationAccuracy() {
+		return accusations == 0 ? 0 : (double) correctAccusations / accusations;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("%d games, %.1f turns per game (min %d, max %d), %d without a winner%n",
+				games, getAverageTurns(), getMinTurns(), maxTurns, gamesWithoutWinner));
+		for (int seat = 0; seat < wins.length; seat++) {
+			text.append(String.format("  %-16s %6.2f%% (%d wins)%n", seatNames.get(seat), 100 * getWinRate(seat), wins[seat]));
+		}
+		text.append(String.format("%d suggestions, %d accusations, %.2f%% correct",
+				suggestions, accusations, 100 * getAccusationAccuracy()));
+		return text.toString();
+	}
+}
@@ -0,0 +1,91 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetMode;
+
+// Tests that the bitset target engine matches the backtracking search
+public class BitsetTargetEngineTest {
+	private static Board board;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+	}
+
+	@AfterEach
+	public void restoreMode() {
+		board.setTargetMode(TargetMode.BACKTRACKING);
+	}
+
+	// Calculate targets with the given mode and return a copy, bypassing cached results
+	private Set<BoardCell> targetsFor(TargetMode mode, BoardCell start, int roll) {
+		if (board.getTargetCache() != null) {
+			board.getTargetCache().clear();
+		}
+		board.setTargetMode(mode);
+		board.calcTargets(start, roll);
+		return new HashSet<>(board.getTargets());
+	}
+
+	// Every start cell and die roll gives the same targets in both modes
+	@Test
+	public void testMatchesBacktrackingEverywhere() {
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell start = board.getCell(row, col);
+				for (int roll = 1; roll <= 6; roll++) {
+					assertEquals(targetsFor(TargetMode.BACKTRACKING, start, roll),
+							targetsFor(TargetMode.BITSET, start, roll),
+							"Targets differ at " + row + "," + col + " roll " + roll);
+				}
+			}
+		}
+	}
+
+	// Known targets from the walkway tests
+	@Test
+	public void testTargetsInWalkway() {
+		Set<BoardCell> targets = targetsFor(TargetMode.BITSET, board.getCell(7, 7), 3);
+		assertEquals(15, targets.size());
+		assertTrue(targets.contains(board.getCell(7, 4)));
+		assertTrue(targets.contains(board.getCell(9, 6)));
+
+		targets = targetsFor(TargetMode.BITSET, board.getCell(3, 3), 1);
+		assertEquals(3, targets.size());
+		assertTrue(targets.contains(board.getCell(23, 24)));
+	}
+
+	// Occupied walkways block paths, occupied room centers do not
+	@Test
+	public void testTargetsOccupied() {
+		board.getCell(7, 9).setOccupied(true);
+		Set<BoardCell> targets = targetsFor(TargetMode.BITSET, board.getCell(7, 7), 3);
+		board.getCell(7, 9).setOccupied(false);
+		assertEquals(14, targets.size());
+		assertTrue(!targets.contains(board.getCell(7, 10)));
+
+		board.getCell(3, 6).setOccupied(true);
+		targets = targetsFor(TargetMode.BITSET, board.getCell(3, 3), 3);
+		board.getCell(3, 6).setOccupied(false);
+		assertEquals(6, targets.size());
+		assertTrue(targets.contains(board.getCell(23, 24)));
+
+		board.getCell(3, 3).setOccupied(true);
+		targets = targetsFor(TargetMode.BITSET, board.getCell(3, 6), 1);
+		board.getCell(3, 3).setOccupied(false);
+		assertTrue(targets.contains(board.getCell(3, 3)));
+	}
+}
@@ -0,0 +1,79 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardGraph;
+
+// Tests for the compressed adjacency graph built by calcAdjacencies
+public class BoardGraphTest {
+	private static Board board;
+	private static BoardGraph graph;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		graph = board.getGraph();
+	}
+
+	// Cell ids are dense and row major
+	@Test
+	public void testCellIds() {
+		assertEquals(board.getNumRows() * board.getNumColumns(), graph.getNumCells());
+		BoardCell cell = board.getCell(7, 5);
+		assertEquals(7 * board.getNumColumns() + 5, cell.getId());
+		assertTrue(graph.getCell(cell.getId()) == cell);
+	}
+
+	// Neighbor slices match the adjacency lists
+	@Test
+	public void testNeighborsMatchAdjList() {
+		int edges = 0;
+		for (int id = 0; id < graph.getNumCells(); id++) {
+			BoardCell cell = graph.getCell(id);
+			Set<BoardCell> adjList = board.getAdjList(cell.getRow(), cell.getCol());
+			assertEquals(graph.getDegree(id), adjList.size());
+			for (int i = graph.getNeighborStart(id); i < graph.getNeighborEnd(id); i++) {
+				assertTrue(adjList.contains(graph.getCell(graph.getNeighbor(i))));
+			}
+			edges += adjList.size();
+		}
+		assertEquals(graph.getNumEdges(), edges);
+	}
+
+	// Every edge appears once in the predecessor lists of its target
+	@Test
+	public void testPredecessors() {
+		BoardCell door = board.getCell(3, 6);
+		BoardCell atrium = board.getCell(3, 3);
+		boolean found = false;
+		for (int i = graph.getPredecessorStart(atrium.getId()); i < graph.getPredecessorEnd(atrium.getId()); i++) {
+			if (graph.getPredecessor(i) == door.getId()) {
+				found = true;
+			}
+		}
+		assertTrue(found);
+		assertTrue(graph.isAdjacent(atrium.getId(), door.getId()));
+		assertFalse(graph.isAdjacent(atrium.getId(), board.getCell(1, 1).getId()));
+	}
+
+	// Adjacency lists are read-only views
+	@Test
+	public void testAdjListReadOnly() {
+		Set<BoardCell> adjList = board.getAdjList(7, 5);
+		assertThrows(UnsupportedOperationException.class, () -> adjList.add(board.getCell(0, 0)));
+		assertEquals(0, board.getAdjList(1, 1).size());
+		assertEquals(0, board.getAdjList(-1, 40).size());
+	}
+}
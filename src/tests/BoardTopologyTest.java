@@ -0,0 +1,149 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTopology;
+import clueGame.ComputerPlayer;
+import clueGame.GameState;
+import clueGame.Player;
+
+// Tests that one topology can be shared by independent games
+public class BoardTopologyTest {
+	private static Board board;
+	private static BoardTopology topology;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		topology = board.getTopology();
+	}
+
+	// The board's topology holds read-only copies of the board's cells and rooms, and its setup entries
+	@Test
+	public void testBoardTopology() {
+		BoardCell cell = topology.getCell(7, 7);
+		assertNotSame(board.getCell(7, 7), cell);
+		assertEquals(board.getCell(7, 7).getId(), cell.getId());
+		assertSame(cell, topology.getCellById(cell.getId()));
+		assertEquals(board.getGraph().getNumCells(), topology.getGraph().getNumCells());
+		assertSame(topology.getCell(3, 3), topology.getRoom('A').getCenterCell());
+		assertSame(board.getMovementPlanner(), topology.getMovementPlanner());
+		assertEquals(board.getPersonNames(), topology.getPersonNames());
+		assertEquals(board.getWeaponNames(), topology.getWeaponNames());
+		assertEquals(board.getRoomNames(), topology.getRoomNames());
+		assertEquals("Atrium", topology.getRoom(topology.getCell(3, 3)).getName());
+		assertEquals(6, topology.getPlayerStarts().size());
+		assertEquals(21, topology.createDeck().size());
+		assertThrows(UnsupportedOperationException.class, () -> topology.getWeaponNames().add("Spoon"));
+	}
+
+	// Loading a topology directly leaves the shared board alone
+	@Test
+	public void testLoadSeparateTopology() throws Exception {
+		BoardTopology other = BoardTopology.load("ClueLayout306.csv", "ClueSetup306.txt");
+		assertSame(topology, board.getTopology());
+		assertEquals(board.getCell(7, 7).getId(), topology.getCell(7, 7).getId());
+		assertNotSame(topology.getGraph(), other.getGraph());
+		assertEquals(board.getNumRows(), topology.getNumRows());
+		assertTrue(other.getNumRows() > 0);
+	}
+
+	// Each game gets its own players, deck, answer and occupancy
+	@Test
+	public void testGamesAreIndependent() {
+		GameState first = topology.newGame();
+		GameState second = topology.newGame();
+		assertEquals(6, first.getPlayers().size());
+		assertNotSame(first.getPlayers().get(0), second.getPlayers().get(0));
+		Player scarlet = first.getPlayers().get(0);
+		assertEquals("Miss Scarlet", scarlet.getName());
+		assertEquals(7, scarlet.getRow());
+		assertEquals(1, scarlet.getCol());
+		ComputerPlayer mustard = (ComputerPlayer) first.getPlayers().get(1);
+		assertSame(topology, mustard.getTopology());
+		assertSame(topology.getMovementPlanner(), mustard.getPlanner());
+
+		// The deck can be read before it is dealt
+		assertEquals(21, first.getDeck().size());
+
+		// Players occupy their cells in their own game only
+		assertTrue(first.getOccupancy().isOccupied(topology.getCell(7, 1).getId()));
+		BoardCell start = topology.getCell(7, 7);
+		assertEquals(15, first.findTargets(start, 3).size());
+		scarlet.setPosition(7, 9);
+		assertFalse(first.getOccupancy().isOccupied(topology.getCell(7, 1).getId()));
+		assertEquals(14, first.findTargets(start, 3).size());
+		assertEquals(15, second.findTargets(start, 3).size());
+		assertFalse(board.getCell(7, 9).isOccupied());
+
+		first.dealCards();
+		assertNotNull(first.getTheAnswer());
+		assertEquals(null, second.getTheAnswer());
+		int dealt = 0;
+		for (Player player : first.getPlayers()) {
+			dealt += player.getHand().size();
+		}
+		assertEquals(18, dealt);
+		for (Player player : second.getPlayers()) {
+			assertEquals(0, player.getHand().size());
+		}
+	}
+
+	// Games on one topology can run on many threads at once
+	@Test
+	public void testConcurrentGames() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<Set<BoardCell>>>> results = new ArrayList<>();
+			for (int g = 0; g < 16; g++) {
+				results.add(pool.submit(() -> {
+					GameState game = topology.newGame();
+					List<Set<BoardCell>> targets = new ArrayList<>();
+					for (int id = 0; id < topology.getGraph().getNumCells(); id += 7) {
+						targets.add(game.findTargets(topology.getCellById(id), 4).getTargets());
+					}
+					return targets;
+				}));
+			}
+			List<Set<BoardCell>> expected = results.get(0).get();
+			for (Future<List<Set<BoardCell>>> result : results) {
+				assertEquals(expected, result.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// Shared cells and rooms refuse changes, so no game can reach the board's occupancy through them
+	@Test
+	public void testSharedCellsAreReadOnly() {
+		BoardCell cell = topology.getCell(7, 7);
+		assertTrue(cell.isReadOnly());
+		assertThrows(UnsupportedOperationException.class, () -> cell.setOccupied(true));
+		assertThrows(UnsupportedOperationException.class, () -> cell.setRoomCenter(true));
+		assertThrows(UnsupportedOperationException.class, () -> topology.getRoom('A').setCenterCell(cell));
+		assertFalse(cell.isOccupied());
+		assertFalse(board.getCell(7, 7).isOccupied());
+		assertFalse(board.getCell(7, 7).isReadOnly());
+	}
+}
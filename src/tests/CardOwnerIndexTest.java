@@ -0,0 +1,115 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTopology;
+import clueGame.Card;
+import clueGame.CardRegistry;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.GameRandom;
+import clueGame.GameState;
+import clueGame.Player;
+import clueGame.Solution;
+import clueGame.SuggestionResult;
+
+// Tests that suggestions resolved from the card owners match asking every player in turn
+public class CardOwnerIndexTest {
+	private static BoardTopology topology;
+
+	@BeforeAll
+	public static void setUp() {
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		topology = board.getTopology();
+	}
+
+	// The first player clockwise from the accuser holding one of the cards, or null
+	private static Player expectedDisprover(List<Player> players, Player accuser, Solution suggestion) {
+		int accuserSeat = players.indexOf(accuser);
+		for (int i = 1; i < players.size(); i++) {
+			Player player = players.get((accuserSeat + i) % players.size());
+			if (player.hasInHand(suggestion.getPerson()) || player.hasInHand(suggestion.getWeapon())
+					|| player.hasInHand(suggestion.getRoom())) {
+				return player;
+			}
+		}
+		return null;
+	}
+
+	private static Card pick(Random random, CardRegistry cards, CardType type) {
+		while (true) {
+			Card card = cards.getCard(random.nextInt(cards.size()));
+			if (card.getType() == type) {
+				return card;
+			}
+		}
+	}
+
+	private static void checkSuggestions(GameState game, Random random) {
+		CardRegistry cards = game.getCardRegistry();
+		List<Player> players = game.getPlayers();
+		for (int i = 0; i < 500; i++) {
+			Player accuser = players.get(random.nextInt(players.size()));
+			Solution suggestion = new Solution(pick(random, cards, CardType.PERSON), pick(random, cards, CardType.WEAPON),
+					pick(random, cards, CardType.ROOM));
+			Player expected = expectedDisprover(players, accuser, suggestion);
+			SuggestionResult result = game.handleSuggestionWithOwner(accuser, suggestion);
+			if (expected == null) {
+				assertNull(result);
+			} else {
+				assertSame(expected, result.getPlayer());
+				assertTrue(expected.hasInHand(result.getCard()));
+			}
+		}
+	}
+
+	// Dealt games resolve every suggestion in clockwise order
+	@Test
+	public void testDealtGame() {
+		Random random = new Random(23);
+		GameState game = topology.newGame();
+		game.setRandom(new GameRandom(random.nextLong()));
+		game.dealCards();
+		for (int seat = 0; seat < game.getPlayers().size(); seat++) {
+			assertEquals(seat, game.getPlayers().get(seat).getSeat());
+		}
+		checkSuggestions(game, random);
+
+		// Nobody can disprove the answer
+		assertNull(game.handleSuggestionWithOwner(game.getPlayers().get(2), game.getTheAnswer()));
+	}
+
+	// Cards handed out after the deal, and players joining, are still taken into account
+	@Test
+	public void testChangesAfterDeal() {
+		Random random = new Random(24);
+		GameState game = topology.newGame();
+		game.setRandom(new GameRandom(random.nextLong()));
+		game.dealCards();
+		Card answerRoom = game.getTheAnswer().getRoom();
+		game.getPlayers().get(4).updateHand(answerRoom);
+		checkSuggestions(game, random);
+
+		// A card already held by another seat
+		game.getPlayers().get(1).updateHand(game.getPlayers().get(3).getHand().get(0));
+		checkSuggestions(game, random);
+
+		Player extra = new ComputerPlayer("Extra", "red", 0, 0);
+		extra.updateHand(game.getTheAnswer().getWeapon());
+		game.addPlayer(extra);
+		assertEquals(6, extra.getSeat());
+		checkSuggestions(game, random);
+	}
+}
@@ -0,0 +1,157 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTopology;
+import clueGame.Card;
+import clueGame.CardRegistry;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.GameState;
+import clueGame.Solution;
+
+// Tests that each board has one canonical card per name and type, numbered in deck order
+public class CardRegistryTest {
+	private static Board board;
+	private static CardRegistry cards;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		cards = board.getCardRegistry();
+	}
+
+	// Ids are dense and follow the deck: rooms, then persons, then weapons
+	@Test
+	public void testIds() {
+		assertEquals(21, cards.size());
+		assertTrue(cards.fitsInMask());
+		for (int id = 0; id < cards.size(); id++) {
+			assertEquals(id, cards.getCard(id).getId());
+		}
+		assertEquals(CardType.ROOM, cards.getCard(0).getType());
+		assertEquals(board.getRoomNames().get(0), cards.getCard(0).getName());
+		assertEquals("Miss Scarlet", cards.getCard(9).getName());
+		assertEquals("Wrench", cards.getCard(20).getName());
+
+		// Every game of the board deals the same card objects
+		GameState game = board.getTopology().newGame();
+		game.createDeck();
+		List<Card> deck = game.getDeck();
+		for (int id = 0; id < deck.size(); id++) {
+			assertSame(cards.getCard(id), deck.get(id));
+		}
+		assertSame(cards, game.getCardRegistry());
+	}
+
+	// Lookups find the canonical card; ad hoc cards stay equal to it
+	@Test
+	public void testLookups() {
+		Card rope = cards.findCard("Rope", CardType.WEAPON);
+		Card adHoc = new Card("Rope", CardType.WEAPON);
+		assertEquals(Card.NO_ID, adHoc.getId());
+		assertEquals(rope, adHoc);
+		assertEquals(rope.hashCode(), adHoc.hashCode());
+		assertSame(rope, cards.intern(adHoc));
+		assertNull(cards.findCard("Rope", CardType.PERSON));
+		Card spoon = new Card("Spoon", CardType.WEAPON);
+		assertSame(spoon, cards.intern(spoon));
+		assertNotEquals(rope, cards.findCard("Knife", CardType.WEAPON));
+
+		long mask = cards.getMask(Arrays.asList(adHoc, cards.getCard(0), spoon));
+		assertEquals(rope.getMask() | 1L, mask);
+		assertEquals(Arrays.asList(cards.getCard(0), rope), cards.getCards(mask));
+	}
+
+	// Hands and seen sets answer by id, and still by name when an ad hoc card is among them
+	@Test
+	public void testHandAndSeenById() {
+		ComputerPlayer player = new ComputerPlayer("Test Player", "red", 0, 0);
+		Card rope = cards.findCard("Rope", CardType.WEAPON);
+		Card atrium = cards.findCard("Atrium", CardType.ROOM);
+		player.updateHand(rope);
+		assertTrue(player.hasCard(new Card("Rope", CardType.WEAPON)));
+		assertEquals(rope.getMask(), player.getHandMask());
+
+		player.updateSeen(atrium);
+		assertTrue(player.hasSeen(atrium));
+		assertEquals(atrium.getMask(), player.getSeenMask());
+		player.updateSeen(new Card("Vault", CardType.ROOM));
+		assertTrue(player.hasSeen(cards.findCard("Vault", CardType.ROOM)));
+	}
+
+	// A card numbered by another board's registry is matched by name, never by its id
+	@Test
+	public void testCardsOfAnotherRegistry() throws Exception {
+		CardRegistry other = BoardTopology.load("ClueLayout306.csv", "ClueSetup306.txt").getCardRegistry();
+		Card foreign = other.getCard(0);
+		Card local = cards.getCard(0);
+		assertEquals(local.getId(), foreign.getId());
+		assertNotEquals(local, foreign);
+		assertSame(other, foreign.getRegistry());
+		assertEquals(0, cards.getMask(foreign));
+
+		ComputerPlayer player = new ComputerPlayer("Test Player", "red", 0, 0);
+		player.updateHand(local);
+		assertFalse(player.hasInHand(foreign));
+		Solution mixed = new Solution(cards.getCard(9), cards.getCard(20), foreign);
+		assertEquals(0, mixed.getCardMask());
+		assertNull(mixed.getCardRegistry());
+		assertNull(player.disproveSuggestion(mixed));
+	}
+
+	// A deck too big for a card mask is still numbered densely and found by name
+	@Test
+	public void testDeckLargerThanMask() throws Exception {
+		File setup = new File("data/LargeDeckSetup.txt");
+		try {
+			List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get("data/ClueSetup.txt")));
+			for (int i = 0; i < 50; i++) {
+				lines.add("Weapon, Extra " + i);
+			}
+			Files.write(setup.toPath(), lines);
+			BoardTopology topology = BoardTopology.load("ClueLayout.csv", setup.getName());
+			CardRegistry large = topology.getCardRegistry();
+			assertEquals(71, large.size());
+			assertFalse(large.fitsInMask());
+			for (int id = 0; id < large.size(); id++) {
+				assertEquals(id, large.getCard(id).getId());
+			}
+
+			Card last = large.findCard("Extra 49", CardType.WEAPON);
+			assertSame(last, large.getCard(70));
+			assertSame(last, large.intern(new Card("Extra 49", CardType.WEAPON)));
+			assertFalse(last.fitsInMask());
+			assertEquals(0, last.getMask());
+			assertEquals(0, large.getMask(last));
+
+			// Hands fall back to names for cards outside the mask
+			ComputerPlayer player = new ComputerPlayer("Test Player", "red", 0, 0);
+			player.updateHand(last);
+			assertTrue(player.hasInHand(new Card("Extra 49", CardType.WEAPON)));
+			Solution suggestion = new Solution(large.getCard(9), last, large.getCard(0));
+			assertEquals(0, suggestion.getCardMask());
+			assertSame(last, player.disproveSuggestion(suggestion));
+		} finally {
+			setup.delete();
+		}
+	}
+}
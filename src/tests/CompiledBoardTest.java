@@ -0,0 +1,151 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardCompiler;
+import clueGame.Player;
+
+// Tests that a compiled board loads to the same board as its source files
+public class CompiledBoardTest {
+	private static final String LAYOUT = "CompiledTestLayout.csv";
+	private static final String SETUP = "CompiledTestSetup.txt";
+	private static final File COMPILED = new File("data/" + LAYOUT + ".compiled");
+	private Board board = Board.getInstance();
+
+	// Work on copies so the shared data files are never touched
+	@BeforeEach
+	public void copySources() throws Exception {
+		Files.copy(Paths.get("data/ClueLayout.csv"), Paths.get("data/" + LAYOUT), StandardCopyOption.REPLACE_EXISTING);
+		Files.copy(Paths.get("data/ClueSetup.txt"), Paths.get("data/" + SETUP), StandardCopyOption.REPLACE_EXISTING);
+		COMPILED.delete();
+	}
+
+	@AfterAll
+	public static void removeCopies() {
+		new File("data/" + LAYOUT).delete();
+		new File("data/" + SETUP).delete();
+		COMPILED.delete();
+	}
+
+	// Describe the cells, adjacency, rooms and setup entries so two loads can be compared
+	private String describeBoard() {
+		StringBuilder text = new StringBuilder();
+		text.append(board.getNumRows()).append('x').append(board.getNumColumns()).append('\n');
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell cell = board.getCell(row, col);
+				text.append(cell.getInitial()).append(cell.getDoorDirection().ordinal())
+						.append(cell.isLabel() ? '#' : '.').append(cell.isRoomCenter() ? '*' : '.')
+						.append(cell.getSecretPassage()).append(cell.getId()).append(board.getRoom(cell).getName()).append('[');
+				for (BoardCell adj : board.getAdjList(row, col)) {
+					text.append(adj.getId()).append(' ');
+				}
+				text.append(']');
+			}
+			text.append('\n');
+		}
+		for (char initial : new char[] { 'A', 'G', 'V', 'W', 'X' }) {
+			text.append(idOf(board.getRoom(initial).getCenterCell())).append(',').append(idOf(board.getRoom(initial).getLabelCell()));
+		}
+		for (Player player : board.getPlayers()) {
+			text.append(player.getClass().getSimpleName()).append(player.getName()).append(player.getColorName())
+					.append(player.getRow()).append(',').append(player.getCol()).append('\n');
+		}
+		text.append(board.getPersonNames()).append(board.getWeaponNames()).append(board.getRoomNames());
+		return text.toString();
+	}
+
+	private static int idOf(BoardCell cell) {
+		return cell == null ? -1 : cell.getId();
+	}
+
+	private String describeSourceLoad() {
+		board.setConfigFiles(LAYOUT, SETUP);
+		board.setUseCompiledBoard(false);
+		board.initialize();
+		board.setUseCompiledBoard(true);
+		assertFalse(board.isLoadedFromCompiled());
+		return describeBoard();
+	}
+
+	// A fresh compiled board is used and matches the source load
+	@Test
+	public void testCompiledMatchesSource() throws Exception {
+		String expected = describeSourceLoad();
+		assertEquals(COMPILED, BoardCompiler.compile(LAYOUT, SETUP));
+		assertTrue(board.isCompiledBoardCurrent());
+
+		board.initialize();
+		assertTrue(board.isLoadedFromCompiled());
+		assertEquals(expected, describeBoard());
+
+		board.calcTargets(board.getCell(7, 7), 3);
+		assertEquals(15, board.getTargets().size());
+		Map<Player, ?> playerTargets = board.findPlayerTargets(6);
+		assertEquals(board.getPlayers().size(), playerTargets.size());
+	}
+
+	// Changing a source file makes the compiled board stale
+	@Test
+	public void testStaleCompiledBoardIgnored() throws Exception {
+		String expected = describeSourceLoad();
+		BoardCompiler.compile(LAYOUT, SETUP);
+		File layout = new File("data/" + LAYOUT);
+		assertTrue(layout.setLastModified(layout.lastModified() + 10000));
+		assertFalse(board.isCompiledBoardCurrent());
+
+		board.initialize();
+		assertFalse(board.isLoadedFromCompiled());
+		assertEquals(expected, describeBoard());
+
+		// A compiled board for another setup file is not used either
+		BoardCompiler.compile(LAYOUT, SETUP);
+		board.setConfigFiles(LAYOUT, "ClueSetup.txt");
+		assertFalse(board.isCompiledBoardCurrent());
+	}
+
+	// A damaged compiled board falls back to parsing the source files
+	@Test
+	public void testCorruptCompiledBoardIgnored() throws Exception {
+		String expected = describeSourceLoad();
+		BoardCompiler.compile(LAYOUT, SETUP);
+		byte[] bytes = Files.readAllBytes(COMPILED.toPath());
+		Files.write(COMPILED.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+
+		board.initialize();
+		assertFalse(board.isLoadedFromCompiled());
+		assertEquals(expected, describeBoard());
+	}
+
+	// Compiling leaves the shared board as it was, and moved players are compiled at their starts
+	@Test
+	public void testCompileKeepsBoardAndStarts() throws Exception {
+		String expected = describeSourceLoad();
+		Object graph = board.getGraph();
+		BoardCompiler.compile(LAYOUT, SETUP);
+		assertSame(graph, board.getGraph());
+
+		Player player = board.getPlayers().get(0);
+		player.setPosition(7, 7);
+		board.compileBoard();
+		board.initialize();
+		assertTrue(board.isLoadedFromCompiled());
+		assertEquals(expected, describeBoard());
+	}
+}
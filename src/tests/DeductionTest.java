@@ -0,0 +1,160 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTopology;
+import clueGame.Card;
+import clueGame.CardRegistry;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.Deduction;
+import clueGame.GameEngine;
+import clueGame.GameListener;
+import clueGame.GameRandom;
+import clueGame.GameState;
+import clueGame.Player;
+import clueGame.Solution;
+
+// Tests that computer players deduce card locations only from what they are told
+public class DeductionTest {
+	private static BoardTopology topology;
+	private static CardRegistry cards;
+
+	@BeforeAll
+	public static void setUp() {
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		topology = board.getTopology();
+		cards = topology.getCardRegistry();
+	}
+
+	private static Card card(String name, CardType type) {
+		return cards.findCard(name, type);
+	}
+
+	private static long mask(Card... hand) {
+		long mask = 0;
+		for (Card card : hand) {
+			mask |= card.getMask();
+		}
+		return mask;
+	}
+
+	// An undisproved suggestion of cards we do not hold is the solution
+	@Test
+	public void testUndisprovedSuggestion() {
+		Card scarlet = card("Miss Scarlet", CardType.PERSON);
+		Card knife = card("Knife", CardType.WEAPON);
+		Card rope = card("Rope", CardType.WEAPON);
+		Card atrium = card("Atrium", CardType.ROOM);
+		Card vault = card("Vault", CardType.ROOM);
+		Deduction deduction = new Deduction(cards, new int[] { 3, 3, 3, 3, 3, 3 }, 0,
+				mask(rope, vault, card("Mrs. White", CardType.PERSON)));
+		assertEquals(0, deduction.getOwner(rope));
+		assertFalse(deduction.isSolutionCandidate(vault));
+		assertNull(deduction.getSolution());
+
+		Solution suggestion = new Solution(scarlet, knife, atrium);
+		deduction.suggestionAnswered(0, suggestion, -1, null);
+		Solution solution = deduction.getSolution();
+		assertNotNull(solution);
+		assertEquals(scarlet, solution.getPerson());
+		assertEquals(knife, solution.getWeapon());
+		assertEquals(atrium, solution.getRoom());
+		assertEquals(deduction.getSolutionPlace(), deduction.getOwner(knife));
+		assertEquals(1, deduction.getSolutionCandidates(CardType.WEAPON).size());
+	}
+
+	// A card shown out of sight is found once the disprover can hold only one of the three
+	@Test
+	public void testHiddenDisproof() {
+		Card plum = card("Professor Plum", CardType.PERSON);
+		Card wrench = card("Wrench", CardType.WEAPON);
+		Card forge = card("Forge", CardType.ROOM);
+		Deduction deduction = new Deduction(cards, new int[] { 3, 3, 3, 3, 3, 3 }, 0,
+				mask(card("Rope", CardType.WEAPON), card("Vault", CardType.ROOM), card("Mrs. White", CardType.PERSON)));
+
+		// Seat 1 asks and seat 3 shows it a card we do not see; seat 2 holds none of them
+		deduction.suggestionAnswered(1, new Solution(plum, wrench, forge), 3, null);
+		assertEquals(Deduction.UNKNOWN, deduction.getOwner(forge));
+		assertTrue(deduction.isSolutionCandidate(forge));
+
+		// Seat 3 then passes on Plum and the Wrench, so it showed the Forge
+		deduction.suggestionAnswered(2, new Solution(plum, wrench, card("Atrium", CardType.ROOM)), 4, null);
+		assertEquals(3, deduction.getOwner(forge));
+		assertFalse(deduction.isSolutionCandidate(forge));
+		assertEquals(Deduction.UNKNOWN, deduction.getOwner(plum));
+	}
+
+	// A full hand holds nothing else
+	@Test
+	public void testFullHand() {
+		Card green = card("Mr. Green", CardType.PERSON);
+		Card knife = card("Knife", CardType.WEAPON);
+		Card atrium = card("Atrium", CardType.ROOM);
+		Deduction deduction = new Deduction(cards, new int[] { 3, 3, 3, 3, 3, 3 }, 0,
+				mask(card("Rope", CardType.WEAPON), card("Vault", CardType.ROOM), card("Mrs. White", CardType.PERSON)));
+		deduction.cardShown(2, knife);
+		deduction.cardShown(2, card("Forge", CardType.ROOM));
+		deduction.cardShown(2, atrium);
+		assertEquals(3, Long.bitCount(deduction.getKnownHand(2)));
+
+		// Seats 3 to 5 pass on Mr. Green, and we show seat 2 a card: Green is with seat 1 or
+		// in the solution, as seat 2's hand is full
+		deduction.suggestionAnswered(2, new Solution(green, card("Rope", CardType.WEAPON), card("Vault", CardType.ROOM)), 0, null);
+		assertEquals(Deduction.UNKNOWN, deduction.getOwner(green));
+
+		// Seat 1 passes on Mr. Green too
+		deduction.suggestionAnswered(5, new Solution(green, knife, atrium), 2, null);
+		assertEquals(deduction.getSolutionPlace(), deduction.getOwner(green));
+		assertEquals(1, deduction.getSolutionCandidates(CardType.PERSON).size());
+	}
+
+	// In a played game everything deduced is true, and the deduced accusations win
+	@Test
+	public void testDeductionsAreSound() {
+		GameState game = topology.newComputerGame();
+		game.setRandom(new GameRandom(25));
+		game.dealCards();
+		GameEngine engine = new GameEngine(game);
+		engine.addListener(new GameListener() {
+			@Override
+			public void turnStarted(Player player, int roll, Set<BoardCell> targets) {
+				checkSound(game);
+			}
+
+			@Override
+			public void accusationMade(Player player, Solution accusation, boolean correct) {
+				assertTrue(correct);
+			}
+		});
+		assertNotNull(engine.play(1000));
+		checkSound(game);
+	}
+
+	private static void checkSound(GameState game) {
+		Solution answer = game.getTheAnswer();
+		for (Player player : game.getPlayers()) {
+			Deduction deduction = ((ComputerPlayer) player).getDeduction();
+			assertTrue(deduction.isSolutionCandidate(answer.getPerson()));
+			assertTrue(deduction.isSolutionCandidate(answer.getWeapon()));
+			assertTrue(deduction.isSolutionCandidate(answer.getRoom()));
+			for (Player other : game.getPlayers()) {
+				long known = deduction.getKnownHand(other.getSeat());
+				assertEquals(known, known & other.getHandMask());
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardGraph;
+import clueGame.DistanceTable;
+import clueGame.RollTargets;
+import clueGame.Room;
+
+// Tests for the precomputed room and walkway distances
+public class DistanceTableTest {
+	private static Board board;
+	private static DistanceTable distances;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.setWalkwayDistances(true);
+		board.initialize();
+		distances = board.getDistanceTable();
+	}
+
+	@AfterAll
+	public static void tearDown() {
+		board.setWalkwayDistances(false);
+		board.initialize();
+	}
+
+	private static final int MAX_SEARCH_ROLL = 6;
+
+	// Smallest roll up to MAX_SEARCH_ROLL whose targets include the room center, or UNREACHABLE
+	private int searchDistance(RollTargets batch, BoardCell center) {
+		for (int roll = 1; roll <= MAX_SEARCH_ROLL; roll++) {
+			if (batch.getTargets(roll).contains(center)) {
+				return roll;
+			}
+		}
+		return DistanceTable.UNREACHABLE;
+	}
+
+	// Room distances match the first roll at which the search reaches the room
+	@Test
+	public void testRoomDistancesMatchSearch() {
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell start = board.getCell(row, col);
+				RollTargets batch = board.findTargetsForRolls(start, MAX_SEARCH_ROLL);
+				for (int c = 0; c < distances.getNumCenters(); c++) {
+					BoardCell center = board.getCellById(distances.getCenterId(c));
+					if (start == center) {
+						continue;
+					}
+					int distance = distances.getDistanceToCenter(start.getId(), center.getId());
+					if (distance > MAX_SEARCH_ROLL) {
+						distance = DistanceTable.UNREACHABLE;
+					}
+					assertEquals(searchDistance(batch, center), distance,
+							"Distance from " + row + "," + col + " to center " + c);
+				}
+			}
+		}
+	}
+
+	// Known distances, including a secret passage and doorways
+	@Test
+	public void testKnownDistances() {
+		Room atrium = board.getRoom(board.getCell(3, 3));
+		assertEquals(0, board.getRoomDistance(board.getCell(3, 3), atrium));
+		assertEquals(1, board.getRoomDistance(board.getCell(3, 6), atrium));
+		assertEquals(1, board.getRoomDistance(board.getCell(23, 24), atrium));
+		assertEquals(2, board.getRoomDistance(board.getCell(3, 7), atrium));
+		assertEquals(DistanceTable.UNREACHABLE, board.getRoomDistance(board.getCell(0, 0), atrium));
+		assertTrue(distances.getNearestCenter(board.getCell(3, 7).getId()) == board.getCell(3, 3).getId());
+	}
+
+	// Walkway distances are symmetric and reject non-walkway cells
+	@Test
+	public void testWalkwayDistances() {
+		assertTrue(distances.hasWalkwayDistances());
+		assertEquals(3, board.getWalkwayDistance(board.getCell(7, 7), board.getCell(7, 10)));
+		assertEquals(board.getWalkwayDistance(board.getCell(7, 1), board.getCell(20, 10)),
+				board.getWalkwayDistance(board.getCell(20, 10), board.getCell(7, 1)));
+		assertThrows(IllegalArgumentException.class,
+				() -> board.getWalkwayDistance(board.getCell(3, 3), board.getCell(7, 7)));
+	}
+
+	// Distances along a corridor longer than a short can hold saturate instead of wrapping
+	@Test
+	public void testLongCorridorSaturates() {
+		int length = 70000;
+		BoardCell[] cells = new BoardCell[length + 1];
+		for (int id = 0; id < cells.length; id++) {
+			cells[id] = new BoardCell(0, id, id == 0 ? 'A' : 'W');
+			cells[id].setId(id);
+		}
+		cells[0].setRoomCenter(true);
+		// A corridor from the center out to cell length - 1, and one cell cut off at the end
+		BoardGraph.Builder builder = new BoardGraph.Builder(cells);
+		for (int id = 0; id < length; id++) {
+			builder.startCell(id);
+			if (id > 0) {
+				builder.addEdge(id - 1);
+			}
+			if (id < length - 1) {
+				builder.addEdge(id + 1);
+			}
+		}
+		BoardGraph graph = builder.build();
+
+		DistanceTable corridor = new DistanceTable(graph, false);
+		assertEquals(100, corridor.getDistanceToCenter(100, 0));
+		assertEquals(DistanceTable.MAX_DISTANCE, corridor.getDistanceToCenter(DistanceTable.MAX_DISTANCE, 0));
+		assertEquals(DistanceTable.MAX_DISTANCE, corridor.getDistanceToCenter(length - 1, 0));
+		assertEquals(DistanceTable.UNREACHABLE, corridor.getDistanceToCenter(length, 0));
+
+		// All walkway pairs would not fit in one array
+		assertThrows(IllegalArgumentException.class, () -> new DistanceTable(graph, true));
+	}
+}
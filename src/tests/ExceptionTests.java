@@ -38,5 +38,14 @@ public class ExceptionTests {
 			board.loadLayoutConfig();
 		});
 	}
-}
 
+	@Test
+	public void testEmptyCell() throws BadConfigFormatException, FileNotFoundException {
+		assertThrows(BadConfigFormatException.class, () -> {
+			Board board = Board.getInstance();
+			board.setConfigFiles("ClueLayoutEmptyCell.csv", "ClueSetup.txt");
+			board.loadSetupConfig();
+			board.loadLayoutConfig();
+		});
+	}
+}
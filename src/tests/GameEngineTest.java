@@ -0,0 +1,171 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTopology;
+import clueGame.GameEngine;
+import clueGame.GameListener;
+import clueGame.GameRandom;
+import clueGame.GameState;
+import clueGame.HumanPlayer;
+import clueGame.Player;
+import clueGame.Solution;
+import clueGame.SuggestionResult;
+
+// Tests that the game engine plays whole games without a user interface
+public class GameEngineTest {
+	private static BoardTopology topology;
+
+	@BeforeAll
+	public static void setUp() {
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		topology = board.getTopology();
+	}
+
+	// Counts the events of one game
+	private static class CountingListener implements GameListener {
+		int turns;
+		int moves;
+		int suggestions;
+		int answers;
+		int accusations;
+		int gameOvers;
+		Player winner;
+
+		@Override
+		public void turnStarted(Player player, int roll, Set<BoardCell> targets) {
+			assertTrue(roll >= 1 && roll <= 6);
+			turns++;
+		}
+
+		@Override
+		public void playerMoved(Player player, BoardCell cell) {
+			assertEquals(cell.getRow(), player.getRow());
+			assertEquals(cell.getCol(), player.getCol());
+			moves++;
+		}
+
+		@Override
+		public void suggestionMade(Player player, Solution suggestion) {
+			suggestions++;
+		}
+
+		@Override
+		public void suggestionAnswered(Player player, Solution suggestion, SuggestionResult result) {
+			if (result != null) {
+				assertTrue(result.getPlayer() != player);
+			}
+			answers++;
+		}
+
+		@Override
+		public void accusationMade(Player player, Solution accusation, boolean correct) {
+			accusations++;
+		}
+
+		@Override
+		public void gameOver(Player winner) {
+			this.winner = winner;
+			gameOvers++;
+		}
+	}
+
+	// A game played only by the computer runs to a correct accusation
+	@Test
+	public void testComputerGamePlaysToTheEnd() {
+		GameState game = topology.newComputerGame();
+		game.setRandom(new GameRandom(18));
+		game.dealCards();
+		GameEngine engine = new GameEngine(game);
+		CountingListener listener = new CountingListener();
+		engine.addListener(listener);
+
+		Player winner = engine.play(100000);
+		assertTrue(engine.isGameOver());
+		assertNotNull(winner);
+		assertSame(winner, listener.winner);
+		assertEquals(1, listener.gameOvers);
+		assertTrue(game.checkAccusation(game.getTheAnswer()));
+		assertEquals(engine.getTurnCount(), listener.turns);
+		assertEquals(listener.suggestions, listener.answers);
+		assertTrue(listener.accusations >= 1);
+		assertTrue(listener.moves > 0);
+
+		// Nothing more happens once the game is over
+		assertFalse(engine.canAdvance());
+		assertFalse(engine.advance());
+		assertEquals(engine.getTurnCount(), listener.turns);
+	}
+
+	// The engine waits for the human to move before starting the next turn
+	@Test
+	public void testEngineWaitsForHuman() {
+		GameState game = topology.newGame();
+		game.setRandom(new GameRandom(3));
+		game.dealCards();
+		GameEngine engine = new GameEngine(game);
+		CountingListener listener = new CountingListener();
+		engine.addListener(listener);
+
+		// Miss Scarlet, the human, plays first
+		assertNull(engine.play(100));
+		assertEquals(1, engine.getTurnCount());
+		HumanPlayer human = (HumanPlayer) engine.getCurrentPlayer();
+		assertTrue(engine.isHumanTurn());
+		assertTrue(engine.isAwaitingHumanMove());
+		assertTrue(engine.canHumanAccuse());
+		assertFalse(engine.canAdvance());
+		assertFalse(engine.advance());
+
+		// Only a highlighted target may be chosen
+		assertFalse(engine.moveHuman(topology.getCell(0, 0)));
+		BoardCell target = engine.getCurrentTargets().iterator().next();
+		assertTrue(engine.moveHuman(target));
+		assertEquals(target.getRow(), human.getRow());
+		assertEquals(target.getCol(), human.getCol());
+		assertFalse(engine.isAwaitingHumanMove());
+		assertFalse(engine.canHumanAccuse());
+
+		// The computers then play round to the human again
+		assertTrue(engine.advance());
+		assertNull(engine.play(100));
+		assertSame(human, engine.getCurrentPlayer());
+		assertEquals(7, engine.getTurnCount());
+		assertEquals(7, listener.turns);
+	}
+
+	// A wrong accusation by the human ends the game with no winner
+	@Test
+	public void testWrongHumanAccusationEndsGame() {
+		GameState game = topology.newGame();
+		game.setRandom(new GameRandom(5));
+		game.dealCards();
+		GameEngine engine = new GameEngine(game);
+		CountingListener listener = new CountingListener();
+		engine.addListener(listener);
+		engine.start();
+
+		Solution answer = game.getTheAnswer();
+		Player human = engine.getCurrentPlayer();
+		Solution wrong = new Solution(answer.getPerson(), answer.getWeapon(), human.getHand().get(0));
+		assertFalse(engine.accuse(human, wrong));
+		assertTrue(engine.isGameOver());
+		assertNull(engine.getWinner());
+		assertEquals(1, listener.gameOvers);
+		assertFalse(engine.isAwaitingHumanMove());
+	}
+}
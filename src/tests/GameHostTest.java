@@ -0,0 +1,151 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTopology;
+import clueGame.GameEngine;
+import clueGame.GameHost;
+import clueGame.GameRandom;
+import clueGame.GameSession;
+import clueGame.HumanPlayer;
+import clueGame.Solution;
+
+// Tests that a host runs many sessions on a small pool and plays each one in order
+public class GameHostTest {
+	private static BoardTopology topology;
+	private GameHost host;
+
+	@BeforeAll
+	public static void setUpTopology() {
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		topology = board.getTopology();
+	}
+
+	@BeforeEach
+	public void setUp() {
+		host = new GameHost(topology, 2);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		assertTrue(host.shutdown());
+	}
+
+	private static int countHostThreads() {
+		int count = 0;
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals("game-host")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	// Thousands of sessions wait for their humans without a thread each
+	@Test
+	public void testManyIdleSessions() throws Exception {
+		List<CompletableFuture<Boolean>> waiting = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			GameSession session = host.openSession(new GameRandom(i));
+			session.start();
+			waiting.add(session.query(() -> session.getEngine().isAwaitingHumanMove()));
+		}
+		for (CompletableFuture<Boolean> future : waiting) {
+			assertTrue(future.get());
+		}
+		assertEquals(5000, host.getSessionCount());
+		assertTrue(countHostThreads() <= 2);
+	}
+
+	// Actions run in the order they were submitted, with the computer turns after each
+	@Test
+	public void testPlayRound() throws Exception {
+		GameSession session = host.openSession(new GameRandom(4));
+		session.start();
+		GameEngine engine = session.getEngine();
+		BoardCell target = session.query(() -> engine.getCurrentTargets().iterator().next()).get();
+
+		// Nothing to suggest from a walkway, and the turn cannot end before moving
+		assertFalse(session.endTurn().get());
+		CompletableFuture<Boolean> moved = session.moveHuman(target.getRow(), target.getCol());
+		CompletableFuture<Boolean> ended = session.endTurn();
+		assertTrue(moved.get());
+		assertTrue(ended.get());
+		assertEquals(7, (int) session.query(engine::getTurnCount).get());
+		assertTrue(session.query(engine::isAwaitingHumanMove).get());
+		assertSame(HumanPlayer.class, session.query(() -> engine.getCurrentPlayer().getClass()).get());
+		if (!target.isRoomCenter()) {
+			assertNull(session.makeSuggestion(engine.getGame().getTheAnswer()).get());
+		}
+
+		// The answer wins at the beginning of the turn
+		Solution answer = engine.getGame().getTheAnswer();
+		assertTrue(session.accuse(answer).get());
+		assertTrue(session.query(engine::isGameOver).get());
+	}
+
+	// A closed session refuses further actions
+	@Test
+	public void testCloseSession() {
+		GameSession session = host.openSession();
+		assertSame(session, host.getSession(session.getId()));
+		assertTrue(host.closeSession(session.getId()));
+		assertFalse(host.closeSession(session.getId()));
+		assertNull(host.getSession(session.getId()));
+		assertTrue(session.isClosed());
+		ExecutionException e = assertThrows(ExecutionException.class, () -> session.start().get());
+		assertTrue(e.getCause() instanceof IllegalStateException);
+	}
+
+	// Actions submitted while the host shuts down either run or fail; none is left waiting
+	@Test
+	public void testSubmitAroundShutdown() throws Exception {
+		List<GameSession> sessions = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			sessions.add(host.openSession(new GameRandom(i)));
+		}
+		List<CompletableFuture<?>> futures = new CopyOnWriteArrayList<>();
+		Thread submitter = new Thread(() -> {
+			for (int round = 0; round < 200; round++) {
+				for (GameSession session : sessions) {
+					futures.add(session.query(() -> session.getEngine().getTurnCount()));
+				}
+			}
+		});
+		submitter.start();
+		while (futures.size() < 100) {
+			Thread.yield();
+		}
+		assertTrue(host.shutdown());
+		submitter.join();
+
+		for (CompletableFuture<?> future : futures) {
+			try {
+				future.get(10, TimeUnit.SECONDS);
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof IllegalStateException);
+			}
+		}
+	}
+}
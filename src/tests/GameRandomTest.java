@@ -0,0 +1,97 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardTopology;
+import clueGame.Card;
+import clueGame.GameEngine;
+import clueGame.GameListener;
+import clueGame.GameRandom;
+import clueGame.GameState;
+import clueGame.Player;
+import clueGame.Solution;
+
+// Tests that a game is replayed exactly from its seed
+public class GameRandomTest {
+	private static BoardTopology topology;
+
+	@BeforeAll
+	public static void setUp() {
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		topology = board.getTopology();
+	}
+
+	// Everything that happened in a computer game from the seed, as text
+	private static String playGame(long seed) {
+		GameState game = topology.newComputerGame();
+		game.setRandom(new GameRandom(seed));
+		game.dealCards();
+		StringBuilder log = new StringBuilder();
+		for (Player player : game.getPlayers()) {
+			for (Card card : player.getHand()) {
+				log.append(card.getName()).append(',');
+			}
+		}
+		GameEngine engine = new GameEngine(game);
+		engine.addListener(new GameListener() {
+			@Override
+			public void turnStarted(Player player, int roll, Set<BoardCell> targets) {
+				log.append('\n').append(player.getName()).append(' ').append(roll);
+			}
+
+			@Override
+			public void playerMoved(Player player, BoardCell cell) {
+				log.append(' ').append(cell.getId());
+			}
+
+			@Override
+			public void suggestionMade(Player player, Solution suggestion) {
+				log.append(' ').append(suggestion.getPerson().getName()).append('/').append(suggestion.getWeapon().getName());
+			}
+		});
+		engine.play(300);
+		return log.toString();
+	}
+
+	// The same seed replays the deal, the dice and every choice
+	@Test
+	public void testReplay() {
+		String first = playGame(2024);
+		assertEquals(first, playGame(2024));
+		assertNotEquals(first, playGame(2025));
+	}
+
+	// Split streams are the same each time, and shuffles move the elements around
+	@Test
+	public void testStreams() {
+		GameRandom first = new GameRandom(7);
+		GameRandom second = new GameRandom(7);
+		assertEquals(7, first.getSeed());
+		assertEquals(GameRandom.NO_SEED, first.split().getSeed());
+		second.split();
+		assertEquals(first.nextLong(), second.nextLong());
+
+		List<Integer> numbers = new ArrayList<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		first.shuffle(numbers);
+		assertEquals(45, numbers.stream().mapToInt(Integer::intValue).sum());
+		assertNotEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), numbers);
+		for (int i = 0; i < 100; i++) {
+			int roll = first.roll(6);
+			assertTrue(roll >= 1 && roll <= 6);
+		}
+	}
+}
@@ -140,6 +140,41 @@ public class GameSolutionTest {
         assertTrue(returnedCards.size() > 1, "Multiple matching cards should be chosen randomly");
     }
 
+    @Test
+    public void testDisproveSuggestionWithDeckCards() {
+        // Test: Deck cards carry ids, and disproving by mask still returns the matching cards
+        BoardTopology topology = board.getTopology();
+        Card mustard = topology.getCard("Colonel Mustard", CardType.PERSON);
+        Card knife = topology.getCard("Knife", CardType.WEAPON);
+        Card atrium = topology.getCard("Atrium", CardType.ROOM);
+        Card peacock = topology.getCard("Mrs. Peacock", CardType.PERSON);
+        Card rope = topology.getCard("Rope", CardType.WEAPON);
+        Card vault = topology.getCard("Vault", CardType.ROOM);
+        assertNotEquals(Card.NO_ID, mustard.getId());
+        assertEquals(mustardCard, mustard);
+        assertSame(mustard, topology.getCard("Colonel Mustard", CardType.PERSON));
+
+        Player player = new ComputerPlayer("Test Player", "red", 0, 0);
+        player.updateHand(mustard);
+        player.updateHand(knife);
+        player.updateHand(atrium);
+
+        assertNotEquals(0L, new Solution(peacock, rope, atrium).getCardMask());
+        assertSame(atrium, player.disproveSuggestion(new Solution(peacock, rope, atrium)));
+        assertNull(player.disproveSuggestion(new Solution(peacock, rope, vault)));
+
+        Set<Card> returnedCards = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            returnedCards.add(player.disproveSuggestion(new Solution(mustard, knife, atrium)));
+        }
+        assertEquals(new HashSet<>(Arrays.asList(mustard, knife, atrium)), returnedCards);
+
+        // A suggestion of cards made outside the deck is still matched by name
+        Card atriumCard = new Card("Atrium", CardType.ROOM);
+        assertEquals(0L, new Solution(peacockCard, ropeCard, atriumCard).getCardMask());
+        assertSame(atrium, player.disproveSuggestion(new Solution(peacockCard, ropeCard, atriumCard)));
+    }
+
     // TESTS FOR handleSuggestion
     
     @Test
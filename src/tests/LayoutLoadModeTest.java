@@ -0,0 +1,91 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.BadConfigFormatException;
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.LayoutLoadMode;
+
+// Tests that the memory-mapped layout loaders match the streaming loader
+public class LayoutLoadModeTest {
+	private Board board = Board.getInstance();
+
+	@AfterEach
+	public void restoreMode() {
+		board.setLayoutLoadMode(LayoutLoadMode.STREAMING);
+	}
+
+	// Describe every cell so two loads can be compared
+	private String describeLayout(String layout, String setup, LayoutLoadMode mode) throws Exception {
+		board.setConfigFiles(layout, setup);
+		board.setLayoutLoadMode(mode);
+		board.loadSetupConfig();
+		board.loadLayoutConfig();
+		StringBuilder text = new StringBuilder();
+		text.append(board.getNumRows()).append('x').append(board.getNumColumns()).append('\n');
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell cell = board.getCell(row, col);
+				text.append(cell.getInitial()).append(cell.getDoorDirection().ordinal())
+						.append(cell.isLabel() ? '#' : '.').append(cell.isRoomCenter() ? '*' : '.')
+						.append(cell.getSecretPassage()).append(cell.getId()).append(',');
+			}
+			text.append('\n');
+		}
+		return text.toString();
+	}
+
+	// Both boards load to the same cells in every mode
+	@Test
+	public void testModesMatch() throws Exception {
+		String[][] files = { { "ClueLayout.csv", "ClueSetup.txt" }, { "ClueLayout306.csv", "ClueSetup306.txt" } };
+		for (String[] pair : files) {
+			String expected = describeLayout(pair[0], pair[1], LayoutLoadMode.STREAMING);
+			assertEquals(expected, describeLayout(pair[0], pair[1], LayoutLoadMode.MAPPED));
+			assertEquals(expected, describeLayout(pair[0], pair[1], LayoutLoadMode.MAPPED_PARALLEL));
+			assertEquals(expected, describeLayout(pair[0], pair[1], LayoutLoadMode.PARALLEL));
+		}
+	}
+
+	// Ragged rows, unknown rooms and empty cells are still reported as bad configuration
+	@Test
+	public void testErrorsInMappedModes() {
+		String[][] files = { { "ClueLayoutBadColumns306.csv", "ClueSetup306.txt" },
+				{ "ClueLayoutBadRoom306.csv", "ClueSetup306.txt" }, { "ClueLayoutEmptyCell.csv", "ClueSetup.txt" } };
+		for (LayoutLoadMode mode : new LayoutLoadMode[] { LayoutLoadMode.MAPPED, LayoutLoadMode.MAPPED_PARALLEL,
+				LayoutLoadMode.PARALLEL }) {
+			for (String[] pair : files) {
+				assertThrows(BadConfigFormatException.class, () -> describeLayout(pair[0], pair[1], mode));
+			}
+		}
+	}
+
+	// Parallel modes report every bad row and unknown room in row order; sequential modes stop at the first
+	@Test
+	public void testParallelReportsAllErrors() {
+		for (LayoutLoadMode mode : LayoutLoadMode.values()) {
+			BadConfigFormatException e = assertThrows(BadConfigFormatException.class,
+					() -> describeLayout("ClueLayoutManyErrors.csv", "ClueSetup.txt", mode));
+			List<BadConfigFormatException> errors = e.getErrors();
+			if (mode == LayoutLoadMode.PARALLEL || mode == LayoutLoadMode.MAPPED_PARALLEL) {
+				assertEquals(4, errors.size(), mode.name());
+				assertTrue(errors.get(0).getMessage().contains("row 3"));
+				assertTrue(errors.get(1).getMessage().contains("row 10, column 0"));
+				assertTrue(errors.get(2).getMessage().contains("row 10, column 5"));
+				assertTrue(errors.get(3).getMessage().contains("row 20, column 1"));
+				assertTrue(e.getMessage().startsWith("4 configuration errors"));
+			} else {
+				assertEquals(1, errors.size(), mode.name());
+				assertTrue(e.getMessage().contains("row 3"));
+			}
+		}
+	}
+}
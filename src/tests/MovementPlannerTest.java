@@ -0,0 +1,75 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.Card;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.MovementPlanner;
+import clueGame.Room;
+
+// Tests for the expected-turns movement planner
+public class MovementPlannerTest {
+	private static final double EPSILON = 1e-9;
+	private static Board board;
+	private static MovementPlanner planner;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		planner = board.getMovementPlanner();
+	}
+
+	// One step always takes one turn; two steps need a second turn after rolling a 1
+	@Test
+	public void testExpectedTurns() {
+		assertEquals(0.0, planner.getExpectedTurns(0), EPSILON);
+		assertEquals(1.0, planner.getExpectedTurns(1), EPSILON);
+		assertEquals(7.0 / 6, planner.getExpectedTurns(2), EPSILON);
+		for (int d = 1; d < 30; d++) {
+			assertTrue(planner.getExpectedTurns(d + 1) > planner.getExpectedTurns(d));
+		}
+	}
+
+	// The planner moves toward the only unseen room
+	@Test
+	public void testMovesTowardUnseenRoom() {
+		Room atrium = board.getRoom(board.getCell(3, 3));
+		board.calcTargets(board.getCell(7, 7), 3);
+		Set<BoardCell> targets = board.getTargets();
+		BoardCell chosen = planner.chooseTarget(targets, room -> room.getName().equals(atrium.getName()));
+		for (BoardCell target : targets) {
+			assertTrue(board.getRoomDistance(chosen, atrium) <= board.getRoomDistance(target, atrium));
+		}
+		assertNull(planner.chooseTarget(targets, room -> false));
+	}
+
+	// A computer player with a planner enters an unseen room when it can, and always
+	// picks the same target for the same situation
+	@Test
+	public void testComputerPlayerUsesPlanner() {
+		ComputerPlayer player = new ComputerPlayer("Planner", "red", 3, 6);
+		player.setPlanner(planner);
+		board.calcTargets(board.getCell(3, 6), 2);
+		Set<BoardCell> targets = board.getTargets();
+		assertEquals(board.getCell(3, 3), player.selectTargets(targets));
+
+		player.updateSeen(new Card(board.getRoom(board.getCell(3, 3)).getName(), CardType.ROOM));
+		BoardCell first = player.selectTargets(targets);
+		assertTrue(targets.contains(first));
+		for (int i = 0; i < 10; i++) {
+			assertEquals(first, player.selectTargets(targets));
+		}
+	}
+}
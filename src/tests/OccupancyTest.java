@@ -0,0 +1,110 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.ComputerPlayer;
+import clueGame.OccupancySnapshot;
+import clueGame.Player;
+
+// Tests that player positions drive the occupancy bitmap
+public class OccupancyTest {
+	private static Board board;
+
+	@BeforeEach
+	public void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		board.setPlayerOccupancy(true);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		board.setPlayerOccupancy(false);
+	}
+
+	// Starting positions are occupied and follow the players as they move
+	@Test
+	public void testPlayersMove() {
+		Player scarlet = board.getPlayers().get(0);
+		BoardCell start = board.getCell(7, 1);
+		assertTrue(start.isOccupied());
+
+		scarlet.setPosition(7, 2);
+		assertFalse(start.isOccupied());
+		assertTrue(board.getCell(7, 2).isOccupied());
+		assertFalse(board.findTargets(board.getCell(7, 4), 2).contains(board.getCell(7, 2)));
+
+		board.setPlayerOccupancy(false);
+		assertFalse(board.getCell(7, 2).isOccupied());
+	}
+
+	// A room center stays occupied until the last player leaves it
+	@Test
+	public void testSharedRoomCenter() {
+		Player first = board.getPlayers().get(1);
+		Player second = board.getPlayers().get(2);
+		BoardCell center = board.getCell(3, 3);
+		first.setPosition(3, 3);
+		second.setPosition(3, 3);
+		first.setPosition(7, 7);
+		assertTrue(center.isOccupied());
+		second.setPosition(7, 8);
+		assertFalse(center.isOccupied());
+	}
+
+	@Test
+	public void testManualMarksAndPlayers() {
+		Player player = board.getPlayers().get(1);
+		BoardCell cell = board.getCell(7, 7);
+		// unmarking a cell by hand leaves the player in it
+		player.setPosition(7, 7);
+		cell.setOccupied(false);
+		assertTrue(cell.isOccupied());
+		player.setPosition(7, 8);
+		assertFalse(cell.isOccupied());
+		// a hand mark survives a player passing through
+		cell.setOccupied(true);
+		player.setPosition(7, 7);
+		player.setPosition(7, 8);
+		assertTrue(cell.isOccupied());
+		cell.setOccupied(false);
+		assertFalse(cell.isOccupied());
+	}
+
+	// Added players are tracked, cleared players release their cells
+	@Test
+	public void testClearAndAddPlayers() {
+		board.clearPlayers();
+		assertFalse(board.getCell(7, 1).isOccupied());
+		assertEquals(0L, board.getOccupancy().getFingerprint());
+
+		ComputerPlayer bot = new ComputerPlayer("Bot", "green", 7, 7);
+		board.addPlayer(bot);
+		assertTrue(board.getCell(7, 7).isOccupied());
+		bot.setPosition(8, 7);
+		assertFalse(board.getCell(7, 7).isOccupied());
+		assertTrue(board.getCell(8, 7).isOccupied());
+	}
+
+	// Snapshots keep the occupancy from the moment they were taken
+	@Test
+	public void testSnapshot() {
+		Player scarlet = board.getPlayers().get(0);
+		BoardCell start = board.getCell(7, 1);
+		OccupancySnapshot snapshot = board.getOccupancy().snapshot();
+		scarlet.setPosition(7, 2);
+		assertTrue(snapshot.isOccupied(start.getId()));
+		assertFalse(snapshot.isOccupied(board.getCell(7, 2).getId()));
+		assertTrue(board.findTargets(board.getCell(7, 4), 2, snapshot).contains(board.getCell(7, 2)));
+		assertTrue(snapshot.getFingerprint() != board.getOccupancy().getFingerprint());
+	}
+}
@@ -0,0 +1,77 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.DistanceTable;
+import clueGame.ReachProbabilities;
+import clueGame.Room;
+
+// Tests for the dice-roll reachability tables
+public class ReachProbabilitiesTest {
+	private static final double EPSILON = 1e-6;
+	private static Board board;
+	private static Room atrium;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		atrium = board.getRoom(board.getCell(3, 3));
+	}
+
+	// One turn succeeds exactly for the rolls that reach the room
+	@Test
+	public void testSingleTurn() {
+		assertEquals(1.0, board.getReachProbability(board.getCell(3, 3), atrium, 0), EPSILON);
+		assertEquals(0.0, board.getReachProbability(board.getCell(3, 6), atrium, 0), EPSILON);
+		assertEquals(1.0, board.getReachProbability(board.getCell(3, 6), atrium, 1), EPSILON);
+		assertEquals(5.0 / 6, board.getReachProbability(board.getCell(3, 7), atrium, 1), EPSILON);
+		assertEquals(0.0, board.getReachProbability(board.getCell(0, 0), atrium, 3), EPSILON);
+	}
+
+	// More turns never lower the chance, and cells within six steps are certain in one turn
+	@Test
+	public void testMonotoneAndConsistentWithDistance() {
+		ReachProbabilities table = board.getReachProbabilities(4);
+		DistanceTable distances = board.getDistanceTable();
+		for (int c = 0; c < distances.getNumCenters(); c++) {
+			int center = distances.getCenterId(c);
+			for (int id = 0; id < board.getNumRows() * board.getNumColumns(); id++) {
+				int distance = distances.getDistanceToCenter(id, center);
+				for (int turns = 1; turns <= 4; turns++) {
+					assertTrue(table.getProbability(id, center, turns) + EPSILON >= table.getProbability(id, center, turns - 1));
+				}
+				if (distance == DistanceTable.UNREACHABLE) {
+					assertEquals(0.0, table.getProbability(id, center, 4), EPSILON);
+				} else if (distance == 1) {
+					assertEquals(1.0, table.getProbability(id, center, 1), EPSILON);
+				}
+			}
+		}
+	}
+
+	// The parallel precompute gives the same tables
+	@Test
+	public void testParallelMatchesSequential() {
+		ReachProbabilities sequential = board.precomputeReachProbabilities(3, false);
+		ReachProbabilities parallel = board.precomputeReachProbabilities(3, true);
+		DistanceTable distances = board.getDistanceTable();
+		for (int c = 0; c < distances.getNumCenters(); c++) {
+			int center = distances.getCenterId(c);
+			for (int id = 0; id < board.getNumRows() * board.getNumColumns(); id++) {
+				for (int turns = 0; turns <= 3; turns++) {
+					assertEquals(sequential.getProbability(id, center, turns), parallel.getProbability(id, center, turns));
+				}
+			}
+		}
+		BoardCell walkway = board.getCell(7, 7);
+		assertTrue(board.getReachProbability(walkway, atrium, 3) > board.getReachProbability(walkway, atrium, 1));
+	}
+}
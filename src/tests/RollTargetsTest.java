@@ -0,0 +1,72 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.Player;
+import clueGame.RollTargets;
+import clueGame.TargetMode;
+
+// Tests for batch target computation over all rolls and all players
+public class RollTargetsTest {
+	private static Board board;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+	}
+
+	// One batch gives the same targets as a separate search per roll
+	@Test
+	public void testMatchesSingleRolls() {
+		board.setTargetMode(TargetMode.BACKTRACKING);
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell start = board.getCell(row, col);
+				RollTargets batch = board.findTargetsForRolls(start, 6);
+				assertEquals(6, batch.getMaxRoll());
+				for (int roll = 1; roll <= 6; roll++) {
+					board.calcTargets(start, roll);
+					assertEquals(new HashSet<>(board.getTargets()), batch.getTargets(roll).getTargets(),
+							"Targets differ at " + row + "," + col + " roll " + roll);
+				}
+			}
+		}
+	}
+
+	// Room centers stay targets for every roll after they are first reached
+	@Test
+	public void testRoomCenterForLongerRolls() {
+		RollTargets batch = board.findTargetsForRolls(board.getCell(3, 6), 4);
+		for (int roll = 1; roll <= 4; roll++) {
+			assertTrue(batch.getTargets(roll).contains(board.getCell(3, 3)));
+		}
+		assertThrows(IllegalArgumentException.class, () -> batch.getTargets(5));
+	}
+
+	// Every player gets targets from their own position
+	@Test
+	public void testAllPlayers() {
+		Map<Player, RollTargets> byPlayer = board.findPlayerTargets(6);
+		assertEquals(board.getPlayers().size(), byPlayer.size());
+		for (Player player : board.getPlayers()) {
+			BoardCell start = board.getCell(player.getRow(), player.getCol());
+			RollTargets targets = byPlayer.get(player);
+			assertTrue(targets.getStartCell() == start);
+			for (int roll = 1; roll <= 6; roll++) {
+				assertEquals(board.findTargets(start, roll).getTargets(), targets.getTargets(roll).getTargets());
+			}
+		}
+	}
+}
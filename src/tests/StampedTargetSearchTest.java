@@ -0,0 +1,92 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.StampedTargetSearch;
+import clueGame.TargetMode;
+
+// Tests for the allocation-free, generation-stamped target search
+public class StampedTargetSearchTest {
+	private static Board board;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+	}
+
+	// Read the target buffer from the last calcTargetIds call into a set
+	private Set<BoardCell> idTargets(BoardCell start, int roll) {
+		int count = board.calcTargetIds(start, roll);
+		Set<BoardCell> targets = new HashSet<>();
+		for (int i = 0; i < count; i++) {
+			targets.add(board.getCellById(board.getTargetId(i)));
+		}
+		assertEquals(count, targets.size(), "Targets must not repeat");
+		return targets;
+	}
+
+	// Buffer results match the backtracking search for every start and die roll
+	@Test
+	public void testMatchesBacktracking() {
+		board.setTargetMode(TargetMode.BACKTRACKING);
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell start = board.getCell(row, col);
+				for (int roll = 1; roll <= 6; roll++) {
+					board.calcTargets(start, roll);
+					assertEquals(board.getTargets(), idTargets(start, roll));
+				}
+			}
+		}
+	}
+
+	// Known targets, including blocking by an occupied walkway
+	@Test
+	public void testKnownTargets() {
+		assertEquals(15, idTargets(board.getCell(7, 7), 3).size());
+
+		board.getCell(7, 9).setOccupied(true);
+		Set<BoardCell> targets = idTargets(board.getCell(7, 7), 3);
+		board.getCell(7, 9).setOccupied(false);
+		assertEquals(14, targets.size());
+		assertFalse(targets.contains(board.getCell(7, 10)));
+	}
+
+	// Each search replaces the previous results
+	@Test
+	public void testGenerationsDoNotLeak() {
+		StampedTargetSearch search = new StampedTargetSearch(board.getGraph(), board.getOccupancy());
+		BoardCell atrium = board.getCell(3, 3);
+		BoardCell walkway = board.getCell(7, 7);
+
+		assertEquals(3, search.search(atrium.getId(), 1));
+		assertTrue(search.isTarget(board.getCell(23, 24).getId()));
+
+		assertEquals(4, search.search(walkway.getId(), 1));
+		assertFalse(search.isTarget(board.getCell(23, 24).getId()));
+		assertTrue(search.isTarget(board.getCell(7, 8).getId()));
+	}
+
+	// The STAMPED mode gives calcTargets the same results
+	@Test
+	public void testStampedMode() {
+		board.setTargetMode(TargetMode.STAMPED);
+		board.getTargetCache().clear();
+		board.calcTargets(board.getCell(3, 6), 4);
+		board.setTargetMode(TargetMode.BACKTRACKING);
+		assertEquals(16, board.getTargets().size());
+		assertTrue(board.getTargets().contains(board.getCell(3, 10)));
+	}
+}
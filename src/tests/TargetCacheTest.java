@@ -0,0 +1,173 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetCache;
+
+// Tests for the memoized target cache inside Board
+public class TargetCacheTest {
+	private static Board board;
+	private TargetCache cache;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+	}
+
+	@BeforeEach
+	public void clearCache() {
+		cache = board.getTargetCache();
+		assertNotNull(cache);
+		cache.clear();
+	}
+
+	// Repeating a query is a hit and gives the same targets
+	@Test
+	public void testRepeatedQueryHits() {
+		long hits = cache.getHits();
+		long misses = cache.getMisses();
+
+		board.calcTargets(board.getCell(7, 7), 3);
+		Set<BoardCell> first = new HashSet<>(board.getTargets());
+		board.calcTargets(board.getCell(7, 7), 3);
+
+		assertEquals(first, board.getTargets());
+		assertEquals(15, first.size());
+		assertEquals(misses + 1, cache.getMisses());
+		assertEquals(hits + 1, cache.getHits());
+	}
+
+	// Changing occupancy changes the key, and restoring it hits the old entry
+	@Test
+	public void testOccupancyChangesKey() {
+		board.calcTargets(board.getCell(7, 7), 3);
+		long misses = cache.getMisses();
+
+		board.getCell(7, 9).setOccupied(true);
+		board.calcTargets(board.getCell(7, 7), 3);
+		board.getCell(7, 9).setOccupied(false);
+		assertEquals(misses + 1, cache.getMisses());
+		assertEquals(14, board.getTargets().size());
+		assertFalse(board.getTargets().contains(board.getCell(7, 10)));
+
+		long hits = cache.getHits();
+		board.calcTargets(board.getCell(7, 7), 3);
+		assertEquals(hits + 1, cache.getHits());
+		assertEquals(15, board.getTargets().size());
+	}
+
+	// Cached sets are immutable and separate from getTargets
+	@Test
+	public void testCachedSetsImmutable() {
+		BoardCell start = board.getCell(3, 3);
+		board.calcTargets(start, 1);
+		Set<BoardCell> cached = cache.get(start.getId(), 1, 0L);
+		assertNotNull(cached);
+		assertThrows(UnsupportedOperationException.class, () -> cached.clear());
+
+		board.getTargets().clear();
+		assertEquals(3, cached.size());
+	}
+
+	// The least recently used entry is evicted first
+	@Test
+	public void testLruEviction() {
+		TargetCache small = new TargetCache(2);
+		Set<BoardCell> targets = new HashSet<>();
+		small.put(1, 1, 0L, targets);
+		small.put(2, 1, 0L, targets);
+		assertNotNull(small.get(1, 1, 0L));
+		small.put(3, 1, 0L, targets);
+
+		assertEquals(2, small.size());
+		assertNotNull(small.get(1, 1, 0L));
+		assertNull(small.get(2, 1, 0L));
+		assertTrue(small.getMisses() == 1 && small.getHits() == 2);
+	}
+
+	// Moving a piece far away keeps the entry; moving onto a cell the search tested does not
+	@Test
+	public void testEntriesSurviveUnrelatedFlips() {
+		board.calcTargets(board.getCell(7, 7), 3);
+		long migrated = cache.getMigrated();
+
+		board.getCell(20, 20).setOccupied(true);
+		long hits = cache.getHits();
+		board.calcTargets(board.getCell(7, 7), 3);
+		assertEquals(hits + 1, cache.getHits());
+		assertEquals(migrated + 1, cache.getMigrated());
+		assertEquals(15, board.getTargets().size());
+
+		long misses = cache.getMisses();
+		board.getCell(7, 9).setOccupied(true);
+		board.calcTargets(board.getCell(7, 7), 3);
+		assertEquals(misses + 1, cache.getMisses());
+		assertEquals(14, board.getTargets().size());
+
+		board.getCell(7, 9).setOccupied(false);
+		board.getCell(20, 20).setOccupied(false);
+	}
+
+	// A flip only moves the entries that tested the flipped cell
+	@Test
+	public void testFlipMovesOnlyDependents() {
+		TargetCache small = new TargetCache(4);
+		Set<BoardCell> targets = new HashSet<>();
+		small.put(1, 1, 10L, targets, new int[] { 5, 6 }, 2);
+		small.put(2, 1, 10L, targets, new int[] { 7 }, 1);
+
+		small.occupancyChanged(5, 10L, 20L);
+		assertNull(small.get(1, 1, 20L));
+		assertNotNull(small.get(2, 1, 20L));
+		assertEquals(1, small.getMigrated());
+
+		// Flipping back brings the state the first entry was computed for
+		small.occupancyChanged(5, 20L, 10L);
+		assertNotNull(small.get(1, 1, 10L));
+		assertNotNull(small.get(2, 1, 10L));
+		assertEquals(2, small.size());
+	}
+
+	// Cached results after random flips match a fresh search
+	@Test
+	public void testRandomFlipsMatchFreshSearch() {
+		Random random = new Random(9);
+		List<BoardCell> flipped = new ArrayList<>();
+		for (int round = 0; round < 300; round++) {
+			BoardCell cell = board.getCell(random.nextInt(board.getNumRows()), random.nextInt(board.getNumColumns()));
+			cell.setOccupied(!cell.isOccupied());
+			flipped.add(cell);
+
+			for (int query = 0; query < 10; query++) {
+				BoardCell start = board.getCell(random.nextInt(board.getNumRows()), random.nextInt(board.getNumColumns()));
+				int roll = 1 + random.nextInt(6);
+				board.calcTargets(start, roll);
+				Set<BoardCell> cached = new HashSet<>(board.getTargets());
+				assertEquals(board.findTargets(start, roll).getTargets(), cached);
+			}
+		}
+		for (BoardCell cell : flipped) {
+			cell.setOccupied(false);
+		}
+		assertTrue(cache.getMigrated() > 0);
+	}
+}
@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetMode;
+import clueGame.TargetResult;
+
+// Tests for the thread-safe findTargets query
+public class TargetResultTest {
+	private static final int THREADS = 8;
+	private static Board board;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+	}
+
+	// Results are immutable and do not disturb getTargets
+	@Test
+	public void testResultIsIndependent() {
+		board.calcTargets(board.getCell(7, 7), 3);
+		Set<BoardCell> guiTargets = new HashSet<>(board.getTargets());
+
+		TargetResult result = board.findTargets(board.getCell(3, 3), 1);
+		assertEquals(3, result.size());
+		assertTrue(result.contains(board.getCell(23, 24)));
+		assertEquals(1, result.getPathLength());
+		assertTrue(result.getStartCell() == board.getCell(3, 3));
+		assertThrows(UnsupportedOperationException.class, () -> result.getTargets().add(board.getCell(0, 0)));
+
+		assertEquals(guiTargets, board.getTargets());
+	}
+
+	// Many threads querying the same board get the same answers as the backtracking search
+	@Test
+	public void testConcurrentQueries() throws Exception {
+		board.setTargetMode(TargetMode.BACKTRACKING);
+		Map<String, Set<BoardCell>> expected = new HashMap<>();
+		List<BoardCell> starts = new ArrayList<>();
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell start = board.getCell(row, col);
+				starts.add(start);
+				for (int roll = 1; roll <= 6; roll++) {
+					board.calcTargets(start, roll);
+					expected.put(row + "," + col + ":" + roll, new HashSet<>(board.getTargets()));
+				}
+			}
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				final int offset = t;
+				results.add(pool.submit(() -> {
+					int checked = 0;
+					for (int i = 0; i < starts.size(); i++) {
+						BoardCell start = starts.get((i + offset * 97) % starts.size());
+						for (int roll = 1; roll <= 6; roll++) {
+							TargetResult result = board.findTargets(start, roll);
+							assertEquals(expected.get(start.getRow() + "," + start.getCol() + ":" + roll), result.getTargets());
+							checked++;
+						}
+					}
+					return checked;
+				}));
+			}
+			for (Future<Integer> result : results) {
+				assertEquals(starts.size() * 6, result.get().intValue());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardTopology;
+import clueGame.Tournament;
+import clueGame.TournamentStats;
+
+// Tests that tournaments play whole games and add up the same for the same seed
+public class TournamentTest {
+	private static BoardTopology topology;
+
+	@BeforeAll
+	public static void setUp() {
+		Board board = Board.getInstance();
+		board.setConfigFiles("ClueLayout.csv", "ClueSetup.txt");
+		board.initialize();
+		topology = board.getTopology();
+	}
+
+	private static TournamentStats run(long seed, int threads, int games, List<Long> progress) throws Exception {
+		Tournament tournament = new Tournament(topology, seed);
+		tournament.setThreads(threads);
+		tournament.setReportInterval(5);
+		return tournament.run(games, stats -> progress.add(stats.getGames()));
+	}
+
+	// Every game is counted once, in the totals and in the progress reports
+	@Test
+	public void testTotals() throws Exception {
+		List<Long> progress = new ArrayList<>();
+		TournamentStats stats = run(7, 2, 24, progress);
+		assertEquals(24, stats.getGames());
+		assertEquals(6, stats.getSeatNames().size());
+		long wins = stats.getGamesWithoutWinner();
+		for (int seat = 0; seat < 6; seat++) {
+			wins += stats.getWins(seat);
+		}
+		assertEquals(24, wins);
+		assertTrue(stats.getMinTurns() > 0);
+		assertTrue(stats.getMinTurns() <= stats.getAverageTurns() && stats.getAverageTurns() <= stats.getMaxTurns());
+		assertTrue(stats.getCorrectAccusations() <= stats.getAccusations());
+		assertEquals(24 - stats.getGamesWithoutWinner(), stats.getCorrectAccusations());
+		assertTrue(stats.getSuggestions() > 0);
+
+		// Reports come in order and the last one has every game
+		for (int i = 1; i < progress.size(); i++) {
+			assertTrue(progress.get(i) > progress.get(i - 1));
+		}
+		assertEquals(24L, progress.get(progress.size() - 1));
+	}
+
+	// The same seed gives the same totals on any number of threads
+	@Test
+	public void testSeededTournamentsRepeat() throws Exception {
+		String single = run(11, 1, 20, new ArrayList<>()).toString();
+		assertEquals(single, run(11, 3, 20, new ArrayList<>()).toString());
+		assertEquals(single, run(11, 1, 20, new ArrayList<>()).toString());
+		assertNotEquals(single, run(12, 1, 20, new ArrayList<>()).toString());
+	}
+
+	// A game stopped at the turn limit has no winner
+	@Test
+	public void testTurnLimit() throws Exception {
+		Tournament tournament = new Tournament(topology, 3);
+		tournament.setThreads(1);
+		tournament.setMaxTurns(1);
+		TournamentStats stats = tournament.run(4, null);
+		assertEquals(4, stats.getGamesWithoutWinner());
+		assertEquals(1, stats.getMaxTurns());
+		assertEquals(0.0, stats.getWinRate(0));
+	}
+}